@@ -0,0 +1,160 @@
+package com.git_rest_api.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.git_rest_api.github.dto.ChangedFile;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitSummary;
+import org.kohsuke.github.GHCommit;
+import org.kohsuke.github.GitHub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 벤치마크 입력.
+ * GitHub 응답 형식 그대로 저장한 fixtures/commit.json(커밋 조회 API), fixtures/commit.diff(diff 미디어 타입)를 읽고,
+ * 파일 경로 앞에 copyN/을 붙여 복제하는 방식으로 원하는 크기까지 늘린다.
+ */
+public final class Fixtures {
+
+    private static final String OWNER = "1m1nkim";
+    private static final String REPO = "git_rest_api_test";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public enum Size {
+        // 파일 3개 (약 4KB), 48개 (약 70KB), 3000개 (약 4MB)
+        SMALL(1), MEDIUM(16), LARGE(1000);
+
+        private final int copies;
+
+        Size(int copies) {
+            this.copies = copies;
+        }
+    }
+
+    private Fixtures() {
+    }
+
+    public static String owner() {
+        return OWNER;
+    }
+
+    public static String repo() {
+        return REPO;
+    }
+
+    public static String diff(Size size) {
+        String recorded = resource("fixtures/commit.diff");
+        StringBuilder diff = new StringBuilder(recorded.length() * size.copies);
+        diff.append(recorded);
+        for (int copy = 1; copy < size.copies; copy++) {
+            for (String line : recorded.split("\n", -1)) {
+                if (line.startsWith("diff --git ")) {
+                    line = line.replace(" a/", " a/copy" + copy + "/").replace(" b/", " b/copy" + copy + "/");
+                } else if (line.startsWith("--- a/") || line.startsWith("+++ b/")) {
+                    line = line.substring(0, 6) + "copy" + copy + "/" + line.substring(6);
+                }
+                diff.append(line).append('\n');
+            }
+            diff.setLength(diff.length() - 1);
+        }
+        return diff.toString();
+    }
+
+    // 변경 파일 목록이 포함된 커밋 조회 응답
+    public static GHCommit commit(Size size) {
+        return parse(commitJson(size, 0));
+    }
+
+    // 커밋 목록 응답 (목록에는 files/stats가 없음)
+    public static List<GHCommit> commitList(int count) {
+        List<GHCommit> commits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ObjectNode commit = commitJson(Size.SMALL, i);
+            commit.remove("files");
+            commit.remove("stats");
+            commits.add(parse(commit));
+        }
+        return commits;
+    }
+
+    // 캐시에 저장되는 DTO (GithubService와 같은 필드를 JSON에서 직접 읽음)
+    public static CommitPage commitPage(int count) {
+        List<CommitSummary> commits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            commits.add(summary(commitJson(Size.SMALL, i)));
+        }
+        return new CommitPage(commits, REPO, OWNER, 1, count, null, commits.get(commits.size() - 1).sha());
+    }
+
+    public static CommitDetail commitDetail(Size size) {
+        ObjectNode commit = commitJson(size, 0);
+        List<ChangedFile> files = new ArrayList<>();
+        for (JsonNode file : commit.get("files")) {
+            files.add(new ChangedFile(file.get("filename").asText(), file.get("patch").asText(),
+                    file.get("additions").asInt(), file.get("deletions").asInt(), file.get("status").asText()));
+        }
+        return new CommitDetail(summary(commit), files, OWNER, REPO);
+    }
+
+    private static ObjectNode commitJson(Size size, int index) {
+        ObjectNode commit;
+        try {
+            commit = (ObjectNode) MAPPER.readTree(resource("fixtures/commit.json"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // 목록의 커밋마다 SHA와 시각을 다르게
+        commit.put("sha", String.format("%040x", 0x1234567L * (index + 1)));
+        ((ObjectNode) commit.get("commit").get("author"))
+                .put("date", Instant.parse("2025-03-01T10:15:30Z").minusSeconds(index * 3600L).toString());
+
+        ArrayNode files = (ArrayNode) commit.get("files");
+        List<JsonNode> recorded = new ArrayList<>();
+        files.forEach(recorded::add);
+        for (int copy = 1; copy < size.copies; copy++) {
+            for (JsonNode file : recorded) {
+                ObjectNode copied = file.deepCopy();
+                copied.put("filename", "copy" + copy + "/" + file.get("filename").asText());
+                files.add(copied);
+            }
+        }
+        return commit;
+    }
+
+    private static CommitSummary summary(JsonNode commit) {
+        JsonNode info = commit.get("commit");
+        return new CommitSummary(commit.get("sha").asText(), info.get("author").get("name").asText(),
+                info.get("author").get("email").asText(), Instant.parse(info.get("author").get("date").asText()),
+                info.get("message").asText());
+    }
+
+    // github-api가 응답을 읽을 때와 같은 reader 사용 (오프라인 인스턴스라 추가 조회를 하지 않음)
+    private static GHCommit parse(JsonNode json) {
+        try {
+            return GitHub.getMappingObjectReader(GitHub.offline()).forType(GHCommit.class).readValue(json.toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
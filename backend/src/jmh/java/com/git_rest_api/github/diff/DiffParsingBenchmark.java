@@ -0,0 +1,67 @@
+package com.git_rest_api.github.diff;
+
+import com.git_rest_api.benchmark.Fixtures;
+import com.git_rest_api.github.service.GithubService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 커밋 diff 처리 경로.
+ * - splitFiles: 커밋 diff 전체를 파일 단위로 나눔 (file_diff 인덱싱)
+ * - findFile: 파일 하나만 찾음 (마지막 파일이라 전체를 읽음)
+ * - parseFileDiff: 파일 diff -> 이전/이후 내용 (diff 전체를 한 파일처럼 넘겨 입력 크기를 키움)
+ */
+@State(Scope.Benchmark)
+public class DiffParsingBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Fixtures.Size size;
+
+    private byte[] diff;
+    private String diffText;
+    private String lastPath;
+    private UnifiedDiffParser parser;
+    private GithubService githubService;
+
+    @Setup
+    public void setUp() throws IOException {
+        diffText = Fixtures.diff(size);
+        diff = diffText.getBytes(StandardCharsets.UTF_8);
+        parser = new UnifiedDiffParser(Long.MAX_VALUE);
+
+        List<FileDiff> files = new ArrayList<>();
+        parser.parse(new ByteArrayInputStream(diff), files::add);
+        lastPath = files.get(files.size() - 1).path();
+
+        // parseFileDiff는 필드를 쓰지 않음
+        githubService = new GithubService(null, null, null, null, null, null, null,
+                new SimpleMeterRegistry(), "", "https://api.github.com", Long.MAX_VALUE);
+    }
+
+    @Benchmark
+    public boolean splitFiles(Blackhole blackhole) throws IOException {
+        return parser.parse(new ByteArrayInputStream(diff), blackhole::consume);
+    }
+
+    @Benchmark
+    public FileDiff findFile() throws IOException {
+        return parser.find(new ByteArrayInputStream(diff), lastPath);
+    }
+
+    @Benchmark
+    public Map<String, String> parseFileDiff() {
+        return githubService.parseFileDiff(diffText);
+    }
+}
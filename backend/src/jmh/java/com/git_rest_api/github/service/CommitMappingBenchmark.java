@@ -0,0 +1,83 @@
+package com.git_rest_api.github.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.git_rest_api.benchmark.Fixtures;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitSummary;
+import com.git_rest_api.redis.RedisConfig;
+import org.kohsuke.github.GHCommit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GitHub 응답(GHCommit) -> 응답 DTO 변환과 응답 본문 직렬화.
+ * 컨트롤러는 DTO를 그대로 반환하므로 Spring MVC가 애플리케이션의 ObjectMapper(RedisConfig)로 JSON을 쓴다.
+ */
+public class CommitMappingBenchmark {
+
+    private static final ObjectMapper OBJECT_MAPPER = new RedisConfig().objectMapper();
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({"10", "30", "100"})
+        public int commits;
+
+        List<GHCommit> response;
+        CommitPage page;
+
+        @Setup
+        public void setUp() {
+            response = Fixtures.commitList(commits);
+            page = Fixtures.commitPage(commits);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Detail {
+
+        @Param({"SMALL", "MEDIUM", "LARGE"})
+        public Fixtures.Size size;
+
+        GHCommit response;
+        CommitDetail detail;
+
+        @Setup
+        public void setUp() {
+            response = Fixtures.commit(size);
+            detail = Fixtures.commitDetail(size);
+        }
+    }
+
+    @Benchmark
+    public CommitPage mapCommitPage(Page state) throws IOException {
+        List<CommitSummary> summaries = new ArrayList<>(state.response.size());
+        for (GHCommit commit : state.response) {
+            summaries.add(CommitQueryService.summaryOf(commit));
+        }
+        return new CommitPage(summaries, Fixtures.repo(), Fixtures.owner(), 1, summaries.size(), null, null);
+    }
+
+    @Benchmark
+    public CommitDetail mapCommitDetail(Detail state) throws IOException {
+        return CommitQueryService.detailOf(state.response, Fixtures.owner(), Fixtures.repo());
+    }
+
+    @Benchmark
+    public byte[] writeCommitPage(Page state) throws IOException {
+        return OBJECT_MAPPER.writeValueAsBytes(state.page);
+    }
+
+    @Benchmark
+    public byte[] writeCommitDetail(Detail state) throws IOException {
+        return OBJECT_MAPPER.writeValueAsBytes(state.detail);
+    }
+}
@@ -0,0 +1,75 @@
+package com.git_rest_api.redis.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.git_rest_api.benchmark.Fixtures;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.redis.RedisConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+/**
+ * Redis 값 직렬화 왕복 (저장 후 다시 읽기).
+ * json은 GenericJackson2JsonRedisSerializer, compact는 CompactCodec (cache.codec.format과 같은 이름).
+ * 저장 크기 비교는 CompactCodecTest에서 같은 fixture로 확인한다.
+ */
+public class CacheSerializerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Serializer {
+
+        @Param({"json", "compact"})
+        public String format;
+
+        RedisSerializer<Object> serializer;
+
+        @Setup
+        public void setUp() {
+            RedisConfig config = new RedisConfig();
+            ObjectMapper objectMapper = config.objectMapper();
+            serializer = config.cacheValueSerializer(objectMapper, config.compactCodec(512), format);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Page {
+
+        @Param({"10", "30", "100"})
+        public int commits;
+
+        CommitPage page;
+
+        @Setup
+        public void setUp() {
+            page = Fixtures.commitPage(commits);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Detail {
+
+        @Param({"SMALL", "MEDIUM", "LARGE"})
+        public Fixtures.Size size;
+
+        CommitDetail detail;
+
+        @Setup
+        public void setUp() {
+            detail = Fixtures.commitDetail(size);
+        }
+    }
+
+    @Benchmark
+    public Object roundTripCommitPage(Serializer serializer, Page state) {
+        return serializer.serializer.deserialize(serializer.serializer.serialize(state.page));
+    }
+
+    @Benchmark
+    public Object roundTripCommitDetail(Serializer serializer, Detail state) {
+        return serializer.serializer.deserialize(serializer.serializer.serialize(state.detail));
+    }
+}
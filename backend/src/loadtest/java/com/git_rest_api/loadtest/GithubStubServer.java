@@ -0,0 +1,429 @@
+package com.git_rest_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 부하 테스트용 GitHub REST API stand-in.
+ * GithubService / RepositoryListingService가 호출하는 엔드포인트(저장소, 커밋 목록, 커밋 상세, diff 미디어 타입)와
+ * OAuth 로그인(authorize, access_token, user)을 fixtures/commit.json, fixtures/commit.diff를 바탕으로 응답한다.
+ * - 어떤 owner/repo 이름이든 commits 개의 커밋이 있는 저장소로 응답 (SHA에 커밋 번호가 들어 있어 상태 없이 계산)
+ * - 모든 API 응답에 latency ± jitter 지연, 토큰별 X-RateLimit-* 헤더, ETag/304 응답 (304는 GitHub처럼 한도에서 차감하지 않음)
+ * 실행: ./gradlew githubStub --args="--port=8089 --latency=80ms --jitter=40ms --rate-limit=5000"
+ */
+public class GithubStubServer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String LOGIN = "loadtest";
+    private static final String[] AUTHORS = {"Kim Developer", "Lee Reviewer", "Park Maintainer", "Choi Contributor"};
+    private static final String[] MESSAGES = {
+            "Fix commit list pagination when cursor is the last commit",
+            "Add cache status header to repository endpoints",
+            "Refactor diff indexing to stream the response body",
+            "Update frontend commit page to load more on scroll",
+            "Handle empty repositories in last commit lookup"};
+
+    private final String baseUrl;
+    private final int commits;
+    private final int repos;
+    private final Duration latency;
+    private final Duration jitter;
+    private final int rateLimit;
+    private final Duration rateLimitWindow;
+    private final Instant startedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private final JsonNode commitTemplate;
+    private final String diffTemplate;
+    private final Map<String, RateWindow> rateWindows = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private HttpServer server;
+
+    private static class RateWindow {
+        final long resetEpochSecond;
+        final AtomicInteger used = new AtomicInteger();
+
+        RateWindow(long resetEpochSecond) {
+            this.resetEpochSecond = resetEpochSecond;
+        }
+    }
+
+    private record Response(int status, String contentType, String body, Map<String, String> headers) {
+
+        static Response json(int status, Object body) {
+            try {
+                return new Response(status, "application/json; charset=utf-8", MAPPER.writeValueAsString(body), new HashMap<>());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        static Response notFound() {
+            return json(404, Map.of("message", "Not Found", "documentation_url", "https://docs.github.com/rest"));
+        }
+    }
+
+    GithubStubServer(Options options) {
+        int port = options.getInt("port", 8089);
+        this.baseUrl = "http://localhost:" + port;
+        this.commits = options.getInt("commits", 2000);
+        this.repos = options.getInt("repos", 20);
+        this.latency = options.getDuration("latency", Duration.ofMillis(80));
+        this.jitter = options.getDuration("jitter", Duration.ofMillis(40));
+        this.rateLimit = options.getInt("rate-limit", 5000);
+        this.rateLimitWindow = options.getDuration("rate-limit-window", Duration.ofHours(1));
+        try {
+            this.commitTemplate = MAPPER.readTree(resource("fixtures/commit.json"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.diffTemplate = resource("fixtures/commit.diff");
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options = Options.parse(args);
+        GithubStubServer stub = new GithubStubServer(options);
+        stub.start(options.getInt("port", 8089));
+        System.out.printf("GitHub stub listening on %s (commits per repo=%d, latency=%dms, jitter=%dms, rate limit=%d per %ds)%n",
+                stub.baseUrl, stub.commits, stub.latency.toMillis(), stub.jitter.toMillis(), stub.rateLimit,
+                stub.rateLimitWindow.toSeconds());
+    }
+
+    public void start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        // 지연을 sleep으로 흉내 내므로 요청마다 가상 스레드
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public int requestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            URI uri = exchange.getRequestURI();
+            String path = uri.getPath();
+            Map<String, String> query = parseQuery(uri.getRawQuery());
+
+            // OAuth 로그인은 지연/한도 없이 바로 응답
+            if (path.equals("/login/oauth/authorize")) {
+                String location = query.get("redirect_uri") + "?code=loadtest&state="
+                        + URLEncoder.encode(query.getOrDefault("state", ""), StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Location", location);
+                exchange.sendResponseHeaders(302, -1);
+                return;
+            }
+            if (path.equals("/login/oauth/access_token")) {
+                exchange.getRequestBody().readAllBytes();
+                send(exchange, Response.json(200, Map.of("access_token", "loadtest-user-token",
+                        "token_type", "bearer", "scope", "repo,user")));
+                return;
+            }
+
+            sleep();
+            Response response = route(exchange, path, query);
+            applyRateLimit(exchange, response);
+        }
+    }
+
+    private Response route(HttpExchange exchange, String path, Map<String, String> query) {
+        String[] parts = path.substring(1).split("/");
+        if (path.equals("/rate_limit")) {
+            return Response.json(200, Map.of("resources", Map.of()));
+        }
+        if (path.equals("/user")) {
+            return Response.json(200, user());
+        }
+        if (path.equals("/user/repos")) {
+            return userRepos(query);
+        }
+        if (parts.length < 3 || !parts[0].equals("repos")) {
+            return Response.notFound();
+        }
+
+        String owner = parts[1];
+        String repo = parts[2];
+        if (parts.length == 3) {
+            return Response.json(200, repository(owner, repo));
+        }
+        if (parts.length == 4 && parts[3].equals("pulls")) {
+            return Response.json(200, MAPPER.createArrayNode());
+        }
+        if (parts.length == 4 && parts[3].equals("commits")) {
+            return commitList(owner, repo, query);
+        }
+        if (parts.length == 5 && parts[3].equals("commits")) {
+            int index = commitIndex(owner, repo, parts[4]);
+            if (index < 0) {
+                return Response.json(422, Map.of("message", "No commit found for SHA: " + parts[4]));
+            }
+            String accept = exchange.getRequestHeaders().getFirst("Accept");
+            if (accept != null && accept.contains("diff")) {
+                return new Response(200, "text/plain; charset=utf-8", diff(copies(index)), new HashMap<>());
+            }
+            return Response.json(200, commit(owner, repo, index, true));
+        }
+        return Response.notFound();
+    }
+
+    private Response userRepos(Map<String, String> query) {
+        int perPage = Math.min(Integer.parseInt(query.getOrDefault("per_page", "30")), 100);
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        ArrayNode list = MAPPER.createArrayNode();
+        int from = (page - 1) * perPage;
+        for (int i = from; i < Math.min(from + perPage, repos); i++) {
+            list.add(repository(LOGIN, "repo-" + (i + 1)));
+        }
+        Response response = Response.json(200, list);
+        if (from + perPage < repos) {
+            response.headers().put("Link", "<" + baseUrl + "/user/repos?type=owner&per_page=" + perPage
+                    + "&page=" + (page + 1) + ">; rel=\"next\"");
+        }
+        return response;
+    }
+
+    // 최신 커밋이 0번, sha 파라미터가 있으면 그 커밋부터 (GitHub처럼 해당 커밋 포함)
+    private Response commitList(String owner, String repo, Map<String, String> query) {
+        int perPage = Math.min(Integer.parseInt(query.getOrDefault("per_page", "30")), 100);
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        String sha = query.get("sha");
+        int start = 0;
+        if (sha != null) {
+            start = commitIndex(owner, repo, sha);
+            if (start < 0) {
+                return Response.notFound();
+            }
+        }
+
+        int from = start + (page - 1) * perPage;
+        ArrayNode list = MAPPER.createArrayNode();
+        for (int i = from; i < Math.min(from + perPage, commits); i++) {
+            list.add(commit(owner, repo, i, false));
+        }
+        Response response = Response.json(200, list);
+        if (from + perPage < commits) {
+            response.headers().put("Link", "<" + baseUrl + "/repos/" + owner + "/" + repo + "/commits?"
+                    + (sha != null ? "sha=" + sha + "&" : "") + "per_page=" + perPage + "&page=" + (page + 1)
+                    + ">; rel=\"next\"");
+        }
+        return response;
+    }
+
+    private ObjectNode commit(String owner, String repo, int index, boolean withFiles) {
+        ObjectNode commit = commitTemplate.deepCopy();
+        String sha = sha(owner, repo, index);
+        String date = startedAt.minus(Duration.ofHours(index)).toString();
+        String author = AUTHORS[index % AUTHORS.length];
+        commit.put("sha", sha);
+        commit.put("url", baseUrl + "/repos/" + owner + "/" + repo + "/commits/" + sha);
+        ObjectNode info = (ObjectNode) commit.get("commit");
+        ((ObjectNode) info.get("author")).put("name", author)
+                .put("email", author.toLowerCase().replace(' ', '.') + "@example.com")
+                .put("date", date);
+        ((ObjectNode) info.get("committer")).put("date", date);
+        info.put("message", MESSAGES[index % MESSAGES.length] + " (#" + (commits - index) + ")");
+        ArrayNode parents = (ArrayNode) commit.get("parents");
+        parents.removeAll();
+        if (index + 1 < commits) {
+            parents.addObject().put("sha", sha(owner, repo, index + 1));
+        }
+
+        if (!withFiles) {
+            commit.remove("files");
+            commit.remove("stats");
+            return commit;
+        }
+        ArrayNode files = (ArrayNode) commit.get("files");
+        List<JsonNode> recorded = new ArrayList<>();
+        files.forEach(recorded::add);
+        int copies = copies(index);
+        for (int copy = 1; copy < copies; copy++) {
+            for (JsonNode file : recorded) {
+                files.add(((ObjectNode) file.deepCopy()).put("filename", "copy" + copy + "/" + file.get("filename").asText()));
+            }
+        }
+        ObjectNode stats = (ObjectNode) commit.get("stats");
+        stats.fieldNames().forEachRemaining(name -> stats.put(name, stats.get(name).asInt() * copies));
+        return commit;
+    }
+
+    // 대부분은 파일 3개짜리 커밋, 가끔 큰 커밋 (50번째마다 48개, 500번째마다 600개 약 900KB)
+    private static int copies(int index) {
+        if (index % 500 == 499) {
+            return 200;
+        }
+        return index % 50 == 49 ? 16 : 1;
+    }
+
+    private String diff(int copies) {
+        StringBuilder diff = new StringBuilder(diffTemplate);
+        for (int copy = 1; copy < copies; copy++) {
+            for (String line : diffTemplate.split("\n", -1)) {
+                if (line.startsWith("diff --git ")) {
+                    line = line.replace(" a/", " a/copy" + copy + "/").replace(" b/", " b/copy" + copy + "/");
+                } else if (line.startsWith("--- a/") || line.startsWith("+++ b/")) {
+                    line = line.substring(0, 6) + "copy" + copy + "/" + line.substring(6);
+                }
+                diff.append(line).append('\n');
+            }
+            diff.setLength(diff.length() - 1);
+        }
+        return diff.toString();
+    }
+
+    // 앞 32자리는 저장소, 뒤 8자리는 커밋 번호
+    private static String sha(String owner, String repo, int index) {
+        String name = owner + "/" + repo;
+        return String.format("%016x%016x%08x", name.hashCode() * 0x9E3779B97F4A7C15L,
+                (long) name.length() * 0xC2B2AE3D27D4EB4FL, index);
+    }
+
+    private int commitIndex(String owner, String repo, String sha) {
+        if (sha.length() != 40 || !sha.startsWith(sha(owner, repo, 0).substring(0, 32))) {
+            return -1;
+        }
+        try {
+            int index = Integer.parseUnsignedInt(sha.substring(32), 16);
+            return index < commits ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private ObjectNode repository(String owner, String repo) {
+        ObjectNode repository = MAPPER.createObjectNode();
+        repository.put("id", Math.abs((owner + "/" + repo).hashCode()));
+        repository.put("name", repo);
+        repository.put("full_name", owner + "/" + repo);
+        repository.put("private", false);
+        repository.put("default_branch", "main");
+        repository.put("url", baseUrl + "/repos/" + owner + "/" + repo);
+        repository.put("html_url", "https://github.com/" + owner + "/" + repo);
+        repository.set("owner", user().put("login", owner));
+        return repository;
+    }
+
+    private ObjectNode user() {
+        ObjectNode user = MAPPER.createObjectNode();
+        user.put("login", LOGIN);
+        user.put("id", 1000001);
+        user.put("type", "User");
+        user.put("name", "Load Test");
+        user.put("url", baseUrl + "/users/" + LOGIN);
+        return user;
+    }
+
+    private void sleep() {
+        long jitterMillis = jitter.toMillis();
+        long millis = latency.toMillis() + (jitterMillis > 0
+                ? ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1) : 0);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 조건부 요청이 일치하면 304 (한도 차감 없음), 한도를 넘으면 403
+    private void applyRateLimit(HttpExchange exchange, Response response) throws IOException {
+        String token = exchange.getRequestHeaders().getFirst("Authorization");
+        long now = Instant.now().getEpochSecond();
+        RateWindow window = rateWindows.compute(token != null ? token : "anonymous", (key, current) ->
+                current == null || current.resetEpochSecond <= now
+                        ? new RateWindow(now + rateLimitWindow.toSeconds()) : current);
+
+        String etag = "\"" + Integer.toHexString(response.body().hashCode()) + "\"";
+        boolean notModified = response.status() == 200
+                && etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"));
+        int used = notModified ? window.used.get() : window.used.incrementAndGet();
+
+        exchange.getResponseHeaders().set("X-RateLimit-Limit", String.valueOf(rateLimit));
+        exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(Math.max(rateLimit - used, 0)));
+        exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(window.resetEpochSecond));
+        exchange.getResponseHeaders().set("X-RateLimit-Used", String.valueOf(Math.min(used, rateLimit)));
+
+        if (used > rateLimit) {
+            send(exchange, Response.json(403, Map.of("message", "API rate limit exceeded for user ID 1000001.",
+                    "documentation_url", "https://docs.github.com/rest/overview/rate-limits-for-the-rest-api")));
+            return;
+        }
+        if (notModified) {
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        if (response.status() == 200) {
+            exchange.getResponseHeaders().set("ETag", etag);
+        }
+        send(exchange, response);
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        response.headers().forEach(exchange.getResponseHeaders()::set);
+        exchange.getResponseHeaders().set("Content-Type", response.contentType());
+        exchange.sendResponseHeaders(response.status(), body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static String resource(String name) {
+        try (InputStream in = GithubStubServer.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing fixture: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
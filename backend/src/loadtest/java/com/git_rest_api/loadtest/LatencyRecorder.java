@@ -0,0 +1,81 @@
+package com.git_rest_api.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 엔드포인트별 응답 시간, 오류 수, X-Cache 헤더 분포
+final class LatencyRecorder {
+
+    private static class Endpoint {
+        long[] nanos = new long[1024];
+        int count;
+        int errors;
+        final Map<String, Integer> cacheStatus = new TreeMap<>();
+
+        synchronized void add(long elapsed, boolean error, String cache) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = elapsed;
+            if (error) {
+                errors++;
+            }
+            if (cache != null) {
+                cacheStatus.merge(cache, 1, Integer::sum);
+            }
+        }
+    }
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+    private long elapsedNanos;
+
+    // status -1은 연결 오류/타임아웃
+    void record(String endpoint, long nanos, int status, String cacheStatus) {
+        endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).add(nanos, status < 200 || status >= 400, cacheStatus);
+    }
+
+    void finish() {
+        elapsedNanos = System.nanoTime() - startNanos;
+    }
+
+    void print(String scenario, int users, PrintStream out) {
+        double seconds = elapsedNanos / 1e9;
+        out.printf("%n== %s (users=%d, %.1fs) ==%n", scenario, users, seconds);
+        out.printf("%-14s %9s %7s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "max(ms)", "X-Cache");
+
+        long[] all = new long[0];
+        int totalErrors = 0;
+        for (Map.Entry<String, Endpoint> entry : new TreeMap<>(endpoints).entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            long[] sorted;
+            synchronized (endpoint) {
+                sorted = Arrays.copyOf(endpoint.nanos, endpoint.count);
+                totalErrors += endpoint.errors;
+                printRow(out, entry.getKey(), sorted, endpoint.errors, seconds, endpoint.cacheStatus.toString());
+            }
+            long[] merged = Arrays.copyOf(all, all.length + sorted.length);
+            System.arraycopy(sorted, 0, merged, all.length, sorted.length);
+            all = merged;
+        }
+        printRow(out, "total", all, totalErrors, seconds, "");
+    }
+
+    private static void printRow(PrintStream out, String name, long[] nanos, int errors, double seconds, String cache) {
+        Arrays.sort(nanos);
+        out.printf("%-14s %9d %7d %9.1f %9.1f %9.1f %9.1f  %s%n", name, nanos.length, errors, nanos.length / seconds,
+                percentile(nanos, 0.50), percentile(nanos, 0.99), nanos.length > 0 ? nanos[nanos.length - 1] / 1e6 : 0, cache);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
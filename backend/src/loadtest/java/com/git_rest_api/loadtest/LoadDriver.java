@@ -0,0 +1,211 @@
+package com.git_rest_api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * /api/repos/** 부하 테스트 드라이버.
+ * OAuth 로그인(stub이 바로 승인)으로 세션을 만든 뒤, 가상 사용자 users 명이 동시에
+ * 커밋 목록 -> (30% 다음 페이지) -> 커밋 상세 1~3개 -> 파일 diff 1~2개 순서로 탐색하고, 가끔 검색/저장소 목록/통계를 조회한다.
+ * 저장소는 앞쪽일수록 자주 고르고, 요청 사이에 0~think 만큼 쉰다.
+ * 시나리오
+ * - cold: 실행마다 새 저장소 이름을 써서 모든 캐시가 비어 있는 상태 (stub은 어떤 이름이든 응답)
+ * - warm: 고정된 저장소(repo-1..)를 warmup 동안 조회한 뒤 측정
+ * - ttl-storm: 저장소 첫 페이지를 한 번씩 조회하고 expiry-wait 동안 기다려 캐시가 만료된 뒤 모든 사용자가 동시에 시작
+ *   (expiry-wait는 loadtest 프로필의 commits ttl보다 길어야 함)
+ * 실행: ./gradlew loadTest --args="--scenario=all --users=20 --duration=60s"
+ */
+public class LoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String app;
+    private final String owner;
+    private final int users;
+    private final int repos;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration expiryWait;
+    private final Duration think;
+    private final HttpClient client;
+
+    LoadDriver(Options options) {
+        this.app = options.get("app", "http://localhost:8080");
+        this.owner = options.get("owner", "loadtest");
+        this.users = options.getInt("users", 20);
+        this.repos = options.getInt("repos", 5);
+        this.duration = options.getDuration("duration", Duration.ofSeconds(60));
+        this.warmup = options.getDuration("warmup", Duration.ofSeconds(20));
+        this.expiryWait = options.getDuration("expiry-wait", Duration.ofSeconds(35));
+        this.think = options.getDuration("think", Duration.ofMillis(100));
+        // 세션 쿠키는 모든 가상 사용자가 공유 (같은 사용자로 로그인)
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager(null, CookiePolicy.ACCEPT_ALL))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        LoadDriver driver = new LoadDriver(options);
+        driver.login();
+        driver.run(options.get("scenario", "all"));
+    }
+
+    void run(String scenario) throws InterruptedException, IOException {
+        boolean all = scenario.equals("all");
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+
+        if (all || scenario.equals("cold")) {
+            measure(repoNames("cold-" + runId), duration).print("cold", users, System.out);
+        }
+        if (all || scenario.equals("warm")) {
+            List<String> warmRepos = repoNames("repo");
+            measure(warmRepos, warmup);
+            measure(warmRepos, duration).print("warm", users, System.out);
+        }
+        if (all || scenario.equals("ttl-storm")) {
+            List<String> stormRepos = repoNames("storm-" + runId);
+            LatencyRecorder priming = new LatencyRecorder();
+            for (String repo : stormRepos) {
+                get(priming, "commits", "/api/repos/%s/%s/commits?perPage=30".formatted(owner, repo));
+            }
+            System.out.printf("%nWaiting %s for the commit page cache to expire...%n", expiryWait);
+            Thread.sleep(expiryWait.toMillis());
+            measure(stormRepos, duration).print("ttl-storm", users, System.out);
+        }
+    }
+
+    // stub이 바로 승인하므로 리다이렉트를 따라가면 /api/user 에서 끝남
+    void login() throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(app + "/oauth2/authorization/github")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200 || !response.uri().getPath().equals("/api/user")) {
+            throw new IllegalStateException("Login failed: " + response.statusCode() + " at " + response.uri());
+        }
+    }
+
+    private LatencyRecorder measure(List<String> repoNames, Duration length) throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        long deadline = System.nanoTime() + length.toNanos();
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                int id = user;
+                executor.submit(() -> {
+                    start.await();
+                    // 첫 탐색은 저장소를 고르게 나눠서 동시에 시작 (ttl-storm에서 만료된 키마다 동시 요청)
+                    String repo = repoNames.get(id % repoNames.size());
+                    while (System.nanoTime() < deadline) {
+                        browse(recorder, repo);
+                        repo = pick(repoNames);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+        recorder.finish();
+        return recorder;
+    }
+
+    private void browse(LatencyRecorder recorder, String repo) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String base = "/api/repos/%s/%s".formatted(owner, repo);
+
+        JsonNode page = get(recorder, "commits", base + "/commits?perPage=30");
+        if (page == null) {
+            return;
+        }
+        if (random.nextDouble() < 0.3 && page.hasNonNull("nextCursor")) {
+            JsonNode next = get(recorder, "commits_next", base + "/commits?perPage=30&cursor=" + page.get("nextCursor").asText());
+            if (next != null) {
+                page = next;
+            }
+        }
+
+        List<String> shas = new ArrayList<>();
+        page.get("commits").forEach(commit -> shas.add(commit.get("sha").asText()));
+        for (int opened = 1 + random.nextInt(3); opened > 0 && !shas.isEmpty(); opened--) {
+            String sha = pick(shas);
+            JsonNode detail = get(recorder, "commit_detail", base + "/commits/" + sha);
+            if (detail == null) {
+                continue;
+            }
+            List<String> files = new ArrayList<>();
+            detail.get("changedFiles").forEach(file -> files.add(file.get("fileName").asText()));
+            for (int diffs = Math.min(1 + random.nextInt(2), files.size()); diffs > 0; diffs--) {
+                get(recorder, "file_diff", base + "/commit/" + sha + "/file?filePath="
+                        + URLEncoder.encode(pick(files), StandardCharsets.UTF_8));
+            }
+        }
+
+        if (random.nextDouble() < 0.1) {
+            get(recorder, "search", base + "/commits/search?q=fix");
+        }
+        if (random.nextDouble() < 0.05) {
+            get(recorder, "churn", base + "/stats/churn");
+        }
+        if (random.nextDouble() < 0.05) {
+            get(recorder, "repos", "/api/repos");
+        }
+    }
+
+    // 성공하면 JSON 본문, 실패하면 null (어느 쪽이든 기록한 뒤 think 만큼 쉼)
+    private JsonNode get(LatencyRecorder recorder, String endpoint, String path) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(app + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        JsonNode body = null;
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode(),
+                    response.headers().firstValue("X-Cache").orElse(null));
+            if (response.statusCode() == 200) {
+                body = MAPPER.readTree(response.body());
+            }
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - start, -1, null);
+        }
+        if (!think.isZero()) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(think.toMillis() + 1));
+        }
+        return body;
+    }
+
+    private List<String> repoNames(String prefix) {
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= repos; i++) {
+            names.add(prefix + "-" + i);
+        }
+        return names;
+    }
+
+    // 앞쪽 항목일수록 자주 고름 (인기 저장소, 최근 커밋)
+    private static <T> T pick(List<T> items) {
+        double r = ThreadLocalRandom.current().nextDouble();
+        return items.get((int) (items.size() * r * r));
+    }
+}
@@ -0,0 +1,132 @@
+package com.git_rest_api.github.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * GitHub GET 응답의 ETag/Last-Modified와 본문을 Redis에 저장해 두고,
+ * 다음 요청에 If-None-Match/If-Modified-Since를 붙여 304가 오면 저장된 본문으로 응답한다.
+ * GitHub은 304 응답을 rate limit에 포함하지 않으므로 캐시 갱신 비용이 거의 없다.
+ * 내용이 바뀌는 목록(커밋 목록, 사용자 저장소 목록, PR 목록)만 대상으로 한다.
+ * SHA로 주소가 정해지는 응답은 바뀌지 않아 조건부 요청으로 얻는 것이 없고 ImmutableObjectStore가 따로 보관한다.
+ */
+public class ConditionalRequestInterceptor implements Interceptor {
+
+    // 이보다 큰 응답은 저장하지 않음 (diff 본문 등)
+    private static final long MAX_STORED_BYTES = 1024 * 1024;
+    // GitHub Enterprise는 /api/v3 아래에 있으므로 경로 끝부분으로 판단
+    private static final Pattern MUTABLE_LISTS = Pattern.compile(".*/(repos/[^/]+/[^/]+/(commits|pulls)|user/repos)/?");
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Duration ttl;
+
+    public ConditionalRequestInterceptor(RedisTemplate<String, Object> redisTemplate, MeterRegistry meterRegistry,
+                                         Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method()) || !MUTABLE_LISTS.matcher(request.url().encodedPath()).matches()) {
+            return chain.proceed(request);
+        }
+
+        String key = entryKey(request);
+        @SuppressWarnings("unchecked")
+        Map<String, String> stored = (Map<String, String>) redisTemplate.opsForValue().get(key);
+
+        Request.Builder conditional = request.newBuilder();
+        if (stored != null) {
+            if (stored.get("etag") != null) {
+                conditional.header("If-None-Match", stored.get("etag"));
+            }
+            if (stored.get("lastModified") != null) {
+                conditional.header("If-Modified-Since", stored.get("lastModified"));
+            }
+        }
+
+        Response response = chain.proceed(conditional.build());
+
+        if (response.code() == 304 && stored != null) {
+            // 변경 없음: 저장된 본문으로 응답하고 저장 기간만 연장
+            response.close();
+            redisTemplate.expire(key, ttl);
+            count("not_modified");
+            MediaType contentType = stored.get("contentType") != null ? MediaType.parse(stored.get("contentType")) : null;
+            Response.Builder cached = response.newBuilder()
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create(stored.get("body").getBytes(StandardCharsets.UTF_8), contentType));
+            // 페이지 수를 Link 헤더로 읽는 요청이 있으므로 304 응답에 없으면 저장된 값으로 채움
+            if (response.header("Link") == null && stored.get("link") != null) {
+                cached.header("Link", stored.get("link"));
+            }
+            return cached.build();
+        }
+
+        if (response.code() != 200 || !isStorable(response)) {
+            return response;
+        }
+
+        // 본문은 소비하지 않고 복사본만 읽어서 저장
+        byte[] bytes = response.peekBody(MAX_STORED_BYTES + 1).bytes();
+        if (bytes.length > MAX_STORED_BYTES) {
+            return response;
+        }
+
+        count("modified");
+        MediaType contentType = response.body().contentType();
+        Map<String, String> entry = new HashMap<>();
+        entry.put("etag", response.header("ETag"));
+        entry.put("lastModified", response.header("Last-Modified"));
+        entry.put("link", response.header("Link"));
+        entry.put("contentType", contentType != null ? contentType.toString() : null);
+        entry.put("body", new String(bytes, StandardCharsets.UTF_8));
+        redisTemplate.opsForValue().set(key, entry, ttl);
+
+        return response;
+    }
+
+    // 검증자가 있는 JSON 응답만 저장
+    private boolean isStorable(Response response) {
+        ResponseBody body = response.body();
+        if (body == null || body.contentType() == null || !body.contentType().subtype().contains("json")) {
+            return false;
+        }
+        return response.header("ETag") != null || response.header("Last-Modified") != null;
+    }
+
+    // 같은 URL이라도 사용자(토큰)와 Accept 헤더가 다르면 응답이 다르므로 키에 포함
+    private String entryKey(Request request) {
+        String source = request.url() + "\n" + request.header("Authorization") + "\n" + request.header("Accept");
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.UTF_8));
+            return "etag:" + HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("github.conditional_requests", "result", result).increment();
+    }
+}
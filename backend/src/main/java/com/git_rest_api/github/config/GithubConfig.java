@@ -1,20 +1,66 @@
 package com.git_rest_api.github.config;
 
+import com.git_rest_api.github.mirror.GitMirrorProperties;
+import com.git_rest_api.github.ratelimit.RateLimitTracker;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.kohsuke.github.extras.okhttp3.OkHttpGitHubConnector;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.RedisTemplate;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
+@EnableConfigurationProperties(GitMirrorProperties.class)
 public class GithubConfig {
     @Value("${github.token}")
     private String token;
 
+    @Value("${github.api-url:https://api.github.com}")
+    private String apiUrl;
+
+    // GitHub 호출 전체가 공유하는 전송 계층 (keep-alive 연결 풀, HTTP/2, 타임아웃, rate limit 추적)
+    @Bean
+    public OkHttpClient githubTransport(RateLimitTracker rateLimitTracker,
+                                        @Value("${github.http.connect-timeout:5s}") Duration connectTimeout,
+                                        @Value("${github.http.read-timeout:30s}") Duration readTimeout,
+                                        @Value("${github.http.pool.max-idle:20}") int maxIdleConnections,
+                                        @Value("${github.http.pool.keep-alive:5m}") Duration keepAlive) {
+        return new OkHttpClient.Builder()
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .addInterceptor(new RateLimitInterceptor(rateLimitTracker))
+                .build();
+    }
+
+    // GitHub API 호출에 ETag 조건부 요청을 적용하는 HTTP 클라이언트 (연결 풀은 githubTransport와 공유)
+    @Bean
+    public OkHttpClient githubHttpClient(OkHttpClient githubTransport, RedisTemplate<String, Object> redisTemplate,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${github.conditional.ttl:1d}") Duration conditionalTtl) {
+        return githubTransport.newBuilder()
+                .addInterceptor(new ConditionalRequestInterceptor(redisTemplate, meterRegistry, conditionalTtl))
+                .build();
+    }
+
+    // 서비스 토큰용 GitHub 클라이언트와 사용자별 GitHub 클라이언트가 함께 사용
+    @Bean
+    public GitHubConnector githubConnector(OkHttpClient githubHttpClient) {
+        return new OkHttpGitHubConnector(githubHttpClient);
+    }
+
     @Bean
-    public GitHub github() throws IOException {
-        return new GitHubBuilder().withOAuthToken(token).build();
+    public GitHub github(GitHubConnector githubConnector) throws IOException {
+        return new GitHubBuilder().withEndpoint(apiUrl).withOAuthToken(token).withConnector(githubConnector).build();
     }
-}
\ No newline at end of file
+}
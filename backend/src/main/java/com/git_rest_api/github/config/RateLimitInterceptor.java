@@ -0,0 +1,32 @@
+package com.git_rest_api.github.config;
+
+import com.git_rest_api.github.ratelimit.RateLimitTracker;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+/**
+ * GitHub 응답의 X-RateLimit-* 헤더를 읽어 토큰별 잔여량을 RateLimitTracker에 반영한다.
+ * 공용 GitHub 전송 계층에 등록되므로 GitHub 클라이언트와 diff 조회(GithubService에서 직접 요청) 모두에 적용된다.
+ */
+public class RateLimitInterceptor implements Interceptor {
+
+    private final RateLimitTracker rateLimitTracker;
+
+    public RateLimitInterceptor(RateLimitTracker rateLimitTracker) {
+        this.rateLimitTracker = rateLimitTracker;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        rateLimitTracker.update(request.header("Authorization"),
+                response.header("X-RateLimit-Limit"),
+                response.header("X-RateLimit-Remaining"),
+                response.header("X-RateLimit-Reset"));
+        return response;
+    }
+}
@@ -0,0 +1,40 @@
+package com.git_rest_api.github.controller;
+
+import com.git_rest_api.github.dto.ChurnReport;
+import com.git_rest_api.github.stats.ChurnStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class ChurnStatsController {
+
+    private final ChurnStatsService churnStatsService;
+
+    // 미리 집계된 통계만 반환 (처음 요청이면 202를 반환하고 백그라운드에서 집계 시작)
+    @GetMapping("/api/repos/{owner}/{repo}/stats/churn")
+    public ResponseEntity<?> getChurnStats(
+            @PathVariable String owner,
+            @PathVariable String repo,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "52") int weeks) {
+        if (limit < 1 || limit > 1000 || weeks < 1 || weeks > 520) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", "limit must be 1 to 1000 and weeks must be 1 to 520");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+
+        ChurnReport report = churnStatsService.report(owner, repo, limit, weeks);
+        if (report == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "computing");
+            return ResponseEntity.accepted().body(response);
+        }
+        return ResponseEntity.ok(report);
+    }
+}
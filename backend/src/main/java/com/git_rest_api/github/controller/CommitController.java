@@ -1,70 +1,107 @@
 package com.git_rest_api.github.controller;
 
-import com.git_rest_api.github.service.GithubService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.prefetch.CommitPrefetcher;
+import com.git_rest_api.github.ratelimit.GithubRateLimitException;
+import com.git_rest_api.github.service.CommitQueryService;
+import com.git_rest_api.redis.CacheResult;
 import lombok.RequiredArgsConstructor;
-import org.kohsuke.github.GHCommit;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class CommitController {
 
-    private final GithubService githubService;
-    private final RedisTemplate<String, Object> redisTemplate;
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final CommitQueryService commitQueryService;
+    private final CommitPrefetcher commitPrefetcher;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/api/repos/{owner}/{repo}/commits")
-    public ResponseEntity<Map<String, Object>> getCommits(
+    public ResponseEntity<?> getCommits(
             @PathVariable String owner,
             @PathVariable String repo,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int perPage) {
+            @RequestParam(defaultValue = "10") int perPage,
+            @RequestParam(required = false) String cursor) {
         try {
-            String cacheKey = "commits:" + owner + ":" + repo + ":" + page + ":" + perPage;
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> cachedData = (Map<String, Object>) redisTemplate.opsForValue().get(cacheKey);
-
-            if (cachedData != null) {
-                return ResponseEntity.ok(cachedData);
-            } else {
-                List<GHCommit> commits = githubService.getRecentCommits(owner, repo, page, perPage);
-
-                // GHCommit 객체를 직렬화 가능한 간단한 Map 객체로 변환
-                List<Map<String, Object>> simplifiedCommits = new ArrayList<>();
-                for (GHCommit commit : commits) {
-                    Map<String, Object> commitInfo = new HashMap<>();
-                    commitInfo.put("sha", commit.getSHA1());
-                    commitInfo.put("authorName", commit.getAuthor().getName());
-                    commitInfo.put("authorEmail", commit.getAuthor().getEmail());
-                    commitInfo.put("commitDate", commit.getCommitDate());
-                    commitInfo.put("message", commit.getCommitShortInfo().getMessage());
-                    simplifiedCommits.add(commitInfo);
-                }
-
-                Map<String, Object> dataToCache = new HashMap<>();
-                dataToCache.put("commits", simplifiedCommits); // 변환된 객체 저장
-                dataToCache.put("repoName", repo);
-                dataToCache.put("owner", owner);
-                dataToCache.put("currentPage", page);
-                dataToCache.put("perPage", perPage);
+            commitPrefetcher.recordAccess(CommitQueryService.commitPageKey(owner, repo, page, perPage, cursor));
+            CacheResult<CommitPage> result = commitQueryService.lookupCommitPage(owner, repo, page, perPage, cursor);
+            CommitPage data = result.value();
 
-                redisTemplate.opsForValue().set(cacheKey, dataToCache, 10, TimeUnit.MINUTES);
+            // 목록 다음에는 보통 커밋 상세나 다음 페이지를 보므로 백그라운드에서 미리 가져옴 (캐시 미스/갱신일 때만)
+            commitPrefetcher.afterCommitPage(result);
 
-                return ResponseEntity.ok(dataToCache);
-            }
+            // 본문 형식은 그대로 두고 캐시 상태는 헤더로 알려줌 (HIT, STALE, MISS)
+            // If-None-Match가 ETag와 같으면 본문을 직렬화하지 않고 304 응답 (HttpEntityMethodProcessor)
+            return ResponseEntity.ok()
+                    .header(CACHE_STATUS_HEADER, cacheStatus(result))
+                    .eTag(HttpCaching.payloadEtag(data))
+                    .cacheControl(HttpCaching.REVALIDATE)
+                    .body(data);
+        } catch (GithubRateLimitException e) {
+            // 429 응답은 RateLimitExceptionHandler에서 처리
+            throw e;
+        } catch (IllegalArgumentException e) {
+            // 잘못된 커서나 범위를 벗어난 perPage
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch commits: " + e.getMessage());
             return ResponseEntity.status(500).body(errorResponse);
         }
     }
+
+    // 목록을 한 번에 모으지 않고 커밋을 받는 대로 내보냄 (format=ndjson 또는 sse, 형식은 CommitStreamWriter 참고)
+    @GetMapping("/api/repos/{owner}/{repo}/commits/stream")
+    public ResponseEntity<StreamingResponseBody> streamCommits(
+            @PathVariable String owner,
+            @PathVariable String repo,
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int perPage,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean sse = "sse".equalsIgnoreCase(format);
+        commitPrefetcher.recordAccess(CommitQueryService.commitPageKey(owner, repo, page, perPage, cursor));
+
+        StreamingResponseBody body = out -> {
+            CommitStreamWriter writer = new CommitStreamWriter(out, objectMapper, sse);
+            CacheResult<CommitPage> result;
+            try {
+                result = commitQueryService.streamCommitPage(owner, repo, page, perPage, cursor, writer::commit);
+                writer.page(result.value(), cacheStatus(result));
+            } catch (GithubRateLimitException e) {
+                writer.error(e.getMessage(), e.getRetryAfterSeconds());
+                return;
+            } catch (IOException | RuntimeException e) {
+                writer.error("Failed to fetch commits: " + e.getMessage(), null);
+                return;
+            }
+            commitPrefetcher.afterCommitPage(result);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(sse ? MediaType.TEXT_EVENT_STREAM : NDJSON)
+                // 프록시가 응답을 모아서 보내지 않도록
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+
+    static String cacheStatus(CacheResult<?> result) {
+        return result.stale() ? "STALE" : result.fromCache() ? "HIT" : "MISS";
+    }
 }
@@ -1,78 +1,92 @@
 package com.git_rest_api.github.controller;
 
-import com.git_rest_api.github.service.GithubService;
+import com.git_rest_api.github.dto.CommitBatchRequest;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.prefetch.CommitPrefetcher;
+import com.git_rest_api.github.service.CommitQueryService;
 import lombok.RequiredArgsConstructor;
-import org.kohsuke.github.GHCommit;
-import org.kohsuke.github.GHCommit.File;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class CommitDetailController {
 
-    private final GithubService githubService;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final CommitQueryService commitQueryService;
+    private final CommitPrefetcher commitPrefetcher;
+
+    @Value("${github.batch.max-items:100}")
+    private int maxBatchItems;
 
     // URL 경로를 commit에서 commits로 변경 (복수형)
     @GetMapping("/api/repos/{owner}/{repo}/commits/{sha}")
-    public ResponseEntity<Map<String, Object>> getCommitDetail(
+    public ResponseEntity<?> getCommitDetail(
             @PathVariable String owner,
             @PathVariable String repo,
-            @PathVariable String sha) {
+            @PathVariable String sha,
+            WebRequest webRequest) {
         try {
-            String cacheKey = "commit_detail:" + owner + ":" + repo + ":" + sha;
-
-            @SuppressWarnings("unchecked")
-            Map<String, Object> cachedData = (Map<String, Object>) redisTemplate.opsForValue().get(cacheKey);
-
-            if (cachedData != null) {
-                return ResponseEntity.ok(cachedData);
-            } else {
-                GHCommit commit = githubService.getCommitDetail(owner, repo, sha);
-                List<File> changedFiles = commit.getFiles();
-
-                Map<String, Object> dataToCache = new HashMap<>();
-                Map<String, Object> simplifiedCommit = new HashMap<>();
-                simplifiedCommit.put("sha", commit.getSHA1());
-                simplifiedCommit.put("authorName", commit.getAuthor().getName());
-                simplifiedCommit.put("authorEmail", commit.getAuthor().getEmail());
-                simplifiedCommit.put("commitDate", commit.getCommitDate());
-                simplifiedCommit.put("message", commit.getCommitShortInfo().getMessage());
-
-                List<Map<String, Object>> simplifiedFiles = new ArrayList<>();
-                for (File file : changedFiles) {
-                    Map<String, Object> fileInfo = new HashMap<>();
-                    fileInfo.put("fileName", file.getFileName());
-                    fileInfo.put("patch", file.getPatch());
-                    fileInfo.put("additions", file.getLinesAdded());
-                    fileInfo.put("deletions", file.getLinesDeleted());
-                    fileInfo.put("status", file.getStatus());
-                    simplifiedFiles.add(fileInfo);
-                }
+            commitPrefetcher.recordAccess(CommitQueryService.commitDetailKey(owner, repo, sha));
+            // 전체 SHA로 조회한 상세는 바뀌지 않으므로 클라이언트가 가진 값과 같으면 조회 없이 304 응답
+            boolean immutable = HttpCaching.isFullSha(sha);
+            if (immutable && webRequest.checkNotModified(HttpCaching.shaEtag(sha))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(HttpCaching.IMMUTABLE).build();
+            }
 
-                dataToCache.put("commit", simplifiedCommit);
-                dataToCache.put("changedFiles", simplifiedFiles);
-                dataToCache.put("owner", owner);
-                dataToCache.put("repo", repo);
+            CommitDetail data = commitQueryService.getCommitDetail(owner, repo, sha);
 
-                redisTemplate.opsForValue().set(cacheKey, dataToCache, 10, TimeUnit.MINUTES);
+            // 상세 화면에서는 보통 첫 번째 파일부터 열어 보므로 그 diff를 미리 가져옴
+            commitPrefetcher.afterCommitDetail(data, sha);
 
-                return ResponseEntity.ok(dataToCache);
+            if (!immutable) {
+                return ResponseEntity.ok(data);
             }
+            return ResponseEntity.ok()
+                    .eTag(HttpCaching.shaEtag(sha))
+                    .cacheControl(HttpCaching.IMMUTABLE)
+                    .body(data);
         } catch (IOException e) {
             Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "Failed to fetch commit details: " + e.getMessage());
             return ResponseEntity.status(500).body(errorResponse);
         }
     }
+
+    // 여러 커밋 상세를 한 번에 조회 (비교 화면 등)
+    @PostMapping("/api/repos/{owner}/{repo}/commits/batch")
+    public ResponseEntity<Map<String, Object>> getCommitDetails(
+            @PathVariable String owner,
+            @PathVariable String repo,
+            @RequestBody CommitBatchRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        if (request.shas() == null || request.shas().isEmpty() || request.shas().size() > maxBatchItems) {
+            response.put("error", "shas must contain 1 to " + maxBatchItems + " items");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        try {
+            List<String> shas = new ArrayList<>(new LinkedHashSet<>(request.shas()));
+            Map<String, String> errors = new LinkedHashMap<>();
+            Map<String, CommitDetail> details = commitQueryService.getCommitDetails(owner, repo, shas, errors);
+
+            response.put("commits", new ArrayList<>(details.values()));
+            response.put("errors", errors);
+            return ResponseEntity.ok(response);
+        } catch (IOException e) {
+            response.put("error", "Failed to fetch commit details: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
+        }
+    }
 }
@@ -1,49 +1,125 @@
 package com.git_rest_api.github.controller;
 
+import com.git_rest_api.github.diff.DiffHunkParser;
+import com.git_rest_api.github.diff.HunkWindow;
+import com.git_rest_api.github.dto.FileDiffBatchRequest;
+import com.git_rest_api.github.prefetch.CommitPrefetcher;
 import com.git_rest_api.github.service.GithubService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequiredArgsConstructor
 public class CommitDiffRestController {
 
     private final GithubService githubService;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final CommitPrefetcher commitPrefetcher;
+
+    @Value("${github.batch.max-items:100}")
+    private int maxBatchItems;
 
     @GetMapping("/api/repos/{owner}/{repo}/commit/{sha}/file")
-    public Map<String, String> getFileDiff(
+    public ResponseEntity<Map<String, Object>> getFileDiff(
             @PathVariable String owner,
             @PathVariable String repo,
             @PathVariable String sha,
-            @RequestParam String filePath) throws IOException {
+            @RequestParam String filePath,
+            @RequestParam(required = false) Integer fromHunk,
+            @RequestParam(required = false) Integer toHunk,
+            WebRequest webRequest) throws IOException {
 
-        // 캐시 키 생성
-        String cacheKey = "file_diff:" + owner + ":" + repo + ":" + sha + ":" + filePath;
+        commitPrefetcher.recordAccess(GithubService.fileDiffKey(owner, repo, sha, filePath));
+        // 전체 SHA의 diff는 바뀌지 않으므로 클라이언트가 가진 값과 같으면 diff를 읽지 않고 304 응답
+        boolean immutable = HttpCaching.isFullSha(sha);
+        if (immutable && webRequest.checkNotModified(HttpCaching.shaEtag(sha))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(HttpCaching.IMMUTABLE).build();
+        }
 
-        // 캐시에서 데이터 조회
-        @SuppressWarnings("unchecked")
-        Map<String, String> cachedDiff = (Map<String, String>) redisTemplate.opsForValue().get(cacheKey);
+        // 커밋 diff는 SHA별로 한 번만 받아 인덱싱되므로 이후 요청은 인덱스 조회만 발생
+        String diff = githubService.getFileDiff(owner, repo, sha, filePath);
+        // "No changes" / "Diff too large" 안내 문구는 실제 diff가 아니므로 보관하지 않고 재검증
+        if (GithubService.isPlaceholder(diff)) {
+            immutable = false;
+        }
 
-        if (cachedDiff != null) {
-            return cachedDiff;
+        // 범위를 지정하지 않으면 기존처럼 전체 old/new 내용을 반환
+        if (fromHunk == null && toHunk == null) {
+            Map<String, Object> result = new HashMap<>(githubService.parseFileDiff(diff));
+            result.put("totalHunks", DiffHunkParser.parse(diff, 0, 0).totalHunks());
+            return fileDiffResponse(result, sha, immutable, webRequest);
         }
 
-        // 캐시된 데이터가 없으면 GitHub API 호출
-        String diff = githubService.getFileDiff(owner, repo, sha, filePath);
-        Map<String, String> result = githubService.parseFileDiff(diff);
+        // 범위를 지정하면 줄 번호가 포함된 hunk만 잘라서 반환 (toHunk는 미포함)
+        int from = fromHunk != null ? Math.max(fromHunk, 0) : 0;
+        int to = toHunk != null ? toHunk : Integer.MAX_VALUE;
+        HunkWindow window = DiffHunkParser.parse(diff, from, to);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("hunks", window.hunks());
+        result.put("totalHunks", window.totalHunks());
+        result.put("fromHunk", window.fromHunk());
+        result.put("toHunk", window.toHunk());
+        return fileDiffResponse(result, sha, immutable, webRequest);
+    }
+
+    // 같은 커밋의 여러 파일 diff를 한 번에 조회 (파일별 요청 대신 한 번의 MGET)
+    @PostMapping("/api/repos/{owner}/{repo}/commit/{sha}/files")
+    public ResponseEntity<Map<String, Object>> getFileDiffs(
+            @PathVariable String owner,
+            @PathVariable String repo,
+            @PathVariable String sha,
+            @RequestBody FileDiffBatchRequest request) throws IOException {
+        Map<String, Object> response = new HashMap<>();
+        if (request.paths() == null || request.paths().isEmpty() || request.paths().size() > maxBatchItems) {
+            response.put("error", "paths must contain 1 to " + maxBatchItems + " items");
+            return ResponseEntity.badRequest().body(response);
+        }
 
-        // 결과를 Redis에 저장 (30분 만료)
-        redisTemplate.opsForValue().set(cacheKey, result, 10, TimeUnit.MINUTES);
+        List<String> paths = new ArrayList<>(new LinkedHashSet<>(request.paths()));
+        Map<String, Object> files = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : githubService.getFileDiffs(owner, repo, sha, paths).entrySet()) {
+            commitPrefetcher.recordAccess(GithubService.fileDiffKey(owner, repo, sha, entry.getKey()));
+            Map<String, Object> file = new HashMap<>(githubService.parseFileDiff(entry.getValue()));
+            file.put("totalHunks", DiffHunkParser.parse(entry.getValue(), 0, 0).totalHunks());
+            files.put(entry.getKey(), file);
+        }
+
+        response.put("files", files);
+        return ResponseEntity.ok(response);
+    }
 
-        return result;
+    private static ResponseEntity<Map<String, Object>> fileDiffResponse(Map<String, Object> body, String sha,
+                                                                        boolean immutable, WebRequest webRequest) {
+        if (!immutable) {
+            String etag = HttpCaching.payloadEtag(body);
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(HttpCaching.REVALIDATE).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(HttpCaching.REVALIDATE)
+                    .body(body);
+        }
+        return ResponseEntity.ok()
+                .eTag(HttpCaching.shaEtag(sha))
+                .cacheControl(HttpCaching.IMMUTABLE)
+                .body(body);
     }
 }
@@ -0,0 +1,50 @@
+package com.git_rest_api.github.controller;
+
+import com.git_rest_api.github.search.CommitSearchIndex;
+import com.git_rest_api.github.search.CommitSearchQuery;
+import com.git_rest_api.github.search.CommitSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class CommitSearchController {
+
+    private final CommitSearchService commitSearchService;
+
+    @Value("${search.max-results:100}")
+    private int maxResults;
+
+    // 예: q=author:octocat path:src/ fix (GitHub을 호출하지 않고 이미 색인된 커밋에서만 검색)
+    @GetMapping("/api/repos/{owner}/{repo}/commits/search")
+    public ResponseEntity<Map<String, Object>> searchCommits(
+            @PathVariable String owner,
+            @PathVariable String repo,
+            @RequestParam("q") String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        Map<String, Object> response = new HashMap<>();
+        if (!commitSearchService.isEnabled()) {
+            response.put("error", "Commit search is disabled");
+            return ResponseEntity.status(404).body(response);
+        }
+
+        CommitSearchQuery query = CommitSearchQuery.parse(q);
+        if (query.isEmpty() || limit < 1 || limit > maxResults) {
+            response.put("error", "q must not be empty and limit must be 1 to " + maxResults);
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        CommitSearchIndex.SearchResult result = commitSearchService.search(owner, repo, query, limit);
+        response.put("commits", result.commits());
+        response.put("total", result.total());
+        // 색인은 이미 조회된 커밋만 포함하므로 검색 범위를 함께 알려줌
+        response.put("indexedCommits", commitSearchService.indexedCommits(owner, repo));
+        return ResponseEntity.ok(response);
+    }
+}
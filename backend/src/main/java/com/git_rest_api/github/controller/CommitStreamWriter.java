@@ -0,0 +1,70 @@
+package com.git_rest_api.github.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitSummary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 커밋 목록 스트리밍 응답 형식.
+ * - ndjson: 한 줄에 {"commit": {...}}, 마지막 줄은 {"page": {...}} (오류는 {"error": "..."})
+ * - sse: event 이름이 commit / page / error 이고 data는 위와 같은 JSON 값
+ * 항목마다 flush 해서 GitHub에서 받는 대로 클라이언트에 도착하게 한다.
+ */
+class CommitStreamWriter {
+
+    private final OutputStream out;
+    private final ObjectMapper objectMapper;
+    private final boolean sse;
+
+    CommitStreamWriter(OutputStream out, ObjectMapper objectMapper, boolean sse) {
+        this.out = out;
+        this.objectMapper = objectMapper;
+        this.sse = sse;
+    }
+
+    void commit(CommitSummary commit) throws IOException {
+        write("commit", commit);
+    }
+
+    // 커밋을 모두 보낸 뒤 다음 페이지 커서와 캐시 상태
+    void page(CommitPage page, String cacheStatus) throws IOException {
+        Map<String, Object> info = new HashMap<>();
+        info.put("owner", page.owner());
+        info.put("repoName", page.repoName());
+        info.put("currentPage", page.currentPage());
+        info.put("perPage", page.perPage());
+        info.put("cursor", page.cursor());
+        info.put("nextCursor", page.nextCursor());
+        info.put("count", page.commits().size());
+        info.put("cache", cacheStatus);
+        write("page", info);
+    }
+
+    // 응답 헤더는 이미 나갔으므로 오류도 스트림 안에서 알림
+    void error(String message, Long retryAfterSeconds) throws IOException {
+        Map<String, Object> error = new HashMap<>();
+        error.put("message", message);
+        if (retryAfterSeconds != null) {
+            error.put("retryAfterSeconds", retryAfterSeconds);
+        }
+        write("error", error);
+    }
+
+    private void write(String type, Object value) throws IOException {
+        StringBuilder frame = new StringBuilder();
+        if (sse) {
+            frame.append("event: ").append(type).append('\n')
+                    .append("data: ").append(objectMapper.writeValueAsString(value)).append("\n\n");
+        } else {
+            frame.append(objectMapper.writeValueAsString(Map.of(type, value))).append('\n');
+        }
+        out.write(frame.toString().getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
@@ -0,0 +1,52 @@
+package com.git_rest_api.github.controller;
+
+import org.springframework.http.CacheControl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 클라이언트(브라우저) HTTP 캐시용 ETag / Cache-Control.
+ * ETag는 모두 weak(W/)로 보냄: Tomcat은 strong ETag가 있는 응답을 압축하지 않고,
+ * If-None-Match는 어차피 weak 비교라 304 응답에는 차이가 없음.
+ */
+final class HttpCaching {
+
+    // 전체 SHA로 조회한 커밋 상세 / diff는 바뀌지 않으므로 재검증 없이 보관
+    static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable();
+    // 목록은 보관하되 매번 If-None-Match로 확인 (Spring Security 기본값인 no-store 대신)
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    // 응답 형식을 바꾸면 올려서 기존 ETag를 무효화
+    private static final String FORMAT_VERSION = "v1";
+    // 브랜치 이름이나 짧은 SHA는 가리키는 커밋이 바뀔 수 있으므로 제외 (SHA-1, SHA-256 저장소)
+    private static final Pattern FULL_SHA = Pattern.compile("[0-9a-fA-F]{40}|[0-9a-fA-F]{64}");
+
+    private HttpCaching() {
+    }
+
+    static boolean isFullSha(String sha) {
+        return FULL_SHA.matcher(sha).matches();
+    }
+
+    // 같은 URL이면 SHA만으로 응답이 정해지므로 본문을 읽지 않고 비교할 수 있음
+    static String shaEtag(String sha) {
+        return "W/\"" + FORMAT_VERSION + "-" + sha.toLowerCase(Locale.ROOT) + "\"";
+    }
+
+    // 캐시에서 꺼낸 값으로 계산 (JSON 직렬화 없이 record/Map의 toString 사용)
+    static String payloadEtag(Object payload) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(payload).getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + FORMAT_VERSION + "-" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,73 +1,61 @@
 package com.git_rest_api.github.controller;
 
+import com.git_rest_api.github.service.RepositoryListingService;
+import com.git_rest_api.redis.CacheResult;
+import com.git_rest_api.redis.CacheService;
 import lombok.RequiredArgsConstructor;
-import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHub;
-import org.kohsuke.github.GitHubBuilder;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.annotation.RegisteredOAuth2AuthorizedClient;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequiredArgsConstructor
 @CrossOrigin(origins = "*")
 public class RepositoryController {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final CacheService cacheService;
+    private final RepositoryListingService repositoryListingService;
 
     @GetMapping("/api/repos")
     public ResponseEntity<Map<String, Object>> getRepos(
-            @RegisteredOAuth2AuthorizedClient("github") OAuth2AuthorizedClient authorizedClient) {
+            @RegisteredOAuth2AuthorizedClient("github") OAuth2AuthorizedClient authorizedClient,
+            @RequestParam(defaultValue = "false") boolean enrich) {
         String accessToken = authorizedClient.getAccessToken().getTokenValue();
         String username = authorizedClient.getPrincipalName();
 
-        String cacheKey = "user_repos:" + username;
-
-        @SuppressWarnings("unchecked")
-        List<Map<String, String>> cachedRepositories = (List<Map<String, String>>) redisTemplate.opsForValue().get(cacheKey);
+        // 추가 정보 포함 여부에 따라 응답이 다르므로 따로 캐시
+        String cacheKey = "user_repos:" + username + (enrich ? ":enriched" : "");
 
         Map<String, Object> response = new HashMap<>();
 
-        if (cachedRepositories != null) {
-            response.put("repositories", cachedRepositories);
-            response.put("fromCache", true);
-        } else {
-            try {
-                GitHub github = new GitHubBuilder().withOAuthToken(accessToken).build();
-                List<Map<String, String>> repositories = new ArrayList<>();
-
-                for (GHRepository repo : github.getMyself().listRepositories()) {
-                    if (repo.getOwnerName().equals(github.getMyself().getLogin())) {
-                        Map<String, String> repoInfo = new HashMap<>();
-                        repoInfo.put("name", repo.getName());
-                        repoInfo.put("owner", repo.getOwnerName());
-                        repositories.add(repoInfo);
-                    }
-                }
-
-                redisTemplate.opsForValue().set(cacheKey, repositories, 10, TimeUnit.MINUTES);
-
-                response.put("repositories", repositories);
-                response.put("fromCache", false);
-
-                return ResponseEntity.ok(response);
-            } catch (IOException e) {
-                response.put("error", "GitHub API 연동 오류: " + e.getMessage());
-                return ResponseEntity.status(500).body(response);
-            }
+        try {
+            // 같은 사용자의 동시 캐시 미스는 GitHub 호출 한 번으로 합쳐짐
+            CacheResult<?> result = cacheService.lookup(cacheKey, List.class,
+                    () -> repositoryListingService.listOwnedRepositories(accessToken, enrich));
+
+            response.put("repositories", result.value());
+            response.put("fromCache", result.fromCache());
+            // soft TTL이 지난 값이면 true (백그라운드에서 갱신 중)
+            response.put("stale", result.stale());
+
+            // fromCache/stale은 매번 달라질 수 있으므로 ETag는 저장소 목록으로만 계산
+            return ResponseEntity.ok()
+                    .header(CommitController.CACHE_STATUS_HEADER, CommitController.cacheStatus(result))
+                    .eTag(HttpCaching.payloadEtag(result.value()))
+                    .cacheControl(HttpCaching.REVALIDATE)
+                    .body(response);
+        } catch (IOException e) {
+            response.put("error", "GitHub API 연동 오류: " + e.getMessage());
+            return ResponseEntity.status(500).body(response);
         }
-
-        return ResponseEntity.ok(response);
     }
 }
@@ -0,0 +1,56 @@
+package com.git_rest_api.github.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.git_rest_api.github.webhook.PushEvent;
+import com.git_rest_api.github.webhook.PushEventHandler;
+import com.git_rest_api.github.webhook.WebhookSignatureVerifier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// GitHub 저장소 webhook 수신 (Content type: application/json, 이벤트: push)
+@RestController
+@RequiredArgsConstructor
+public class WebhookController {
+
+    private final PushEventHandler pushEventHandler;
+    private final ObjectMapper objectMapper;
+
+    @Value("${github.webhook.secret:}")
+    private String webhookSecret;
+
+    @PostMapping("/api/webhooks/github")
+    public ResponseEntity<Map<String, Object>> receive(
+            @RequestHeader("X-GitHub-Event") String eventType,
+            @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+            @RequestBody byte[] body) throws IOException {
+        Map<String, Object> response = new HashMap<>();
+
+        // 서명은 수신한 원본 바이트 그대로 검증
+        if (!WebhookSignatureVerifier.verify(webhookSecret, body, signature)) {
+            response.put("error", "Invalid webhook signature");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+        }
+
+        if ("ping".equals(eventType)) {
+            response.put("result", "pong");
+            return ResponseEntity.ok(response);
+        }
+        if (!"push".equals(eventType)) {
+            response.put("result", "ignored");
+            return ResponseEntity.accepted().body(response);
+        }
+
+        PushEvent event = PushEvent.from(objectMapper.readTree(body));
+        return ResponseEntity.ok(pushEventHandler.handle(event));
+    }
+}
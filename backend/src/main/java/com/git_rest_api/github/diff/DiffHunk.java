@@ -0,0 +1,7 @@
+package com.git_rest_api.github.diff;
+
+import java.util.List;
+
+// "@@ -oldStart,oldLines +newStart,newLines @@ header" 로 시작하는 변경 구간
+public record DiffHunk(int oldStart, int oldLines, int newStart, int newLines, String header, List<DiffLine> lines) {
+}
@@ -0,0 +1,72 @@
+package com.git_rest_api.github.diff;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 파일 하나의 unified diff를 줄 번호가 붙은 hunk 목록으로 변환한다.
+ * 요청 범위 밖의 hunk는 개수만 세고 줄 객체를 만들지 않는다.
+ */
+public final class DiffHunkParser {
+
+    private static final Pattern HUNK_HEADER = Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@ ?(.*)$");
+
+    private DiffHunkParser() {
+    }
+
+    // fromHunk 이상 toHunk 미만 범위의 hunk만 파싱 (0부터 시작)
+    public static HunkWindow parse(String fileDiff, int fromHunk, int toHunk) {
+        List<DiffHunk> hunks = new ArrayList<>();
+        List<DiffLine> lines = null;
+        int hunkIndex = -1;
+        int oldNumber = 0;
+        int newNumber = 0;
+
+        int start = 0;
+        while (start < fileDiff.length()) {
+            int end = fileDiff.indexOf('\n', start);
+            if (end < 0) end = fileDiff.length();
+
+            if (fileDiff.startsWith("@@", start)) {
+                hunkIndex++;
+                lines = null;
+                if (hunkIndex >= fromHunk && hunkIndex < toHunk) {
+                    Matcher matcher = HUNK_HEADER.matcher(fileDiff.substring(start, end));
+                    if (matcher.matches()) {
+                        oldNumber = Integer.parseInt(matcher.group(1));
+                        newNumber = Integer.parseInt(matcher.group(3));
+                        lines = new ArrayList<>();
+                        hunks.add(new DiffHunk(oldNumber, count(matcher.group(2)),
+                                newNumber, count(matcher.group(4)), matcher.group(5), lines));
+                    }
+                }
+            } else if (lines != null && end > start) {
+                char marker = fileDiff.charAt(start);
+                String content = fileDiff.substring(start + 1, end);
+                if (marker == '+') {
+                    lines.add(new DiffLine(DiffLine.Type.ADDED, null, newNumber++, content));
+                } else if (marker == '-') {
+                    lines.add(new DiffLine(DiffLine.Type.REMOVED, oldNumber++, null, content));
+                } else if (marker == ' ') {
+                    lines.add(new DiffLine(DiffLine.Type.CONTEXT, oldNumber++, newNumber++, content));
+                }
+                // "\ No newline at end of file" 은 줄 번호에 포함되지 않으므로 무시
+            }
+            start = end + 1;
+        }
+
+        int totalHunks = hunkIndex + 1;
+        return new HunkWindow(hunks, totalHunks, Math.min(fromHunk, totalHunks), Math.min(toHunk, totalHunks));
+    }
+
+    public static HunkWindow parse(String fileDiff) {
+        return parse(fileDiff, 0, Integer.MAX_VALUE);
+    }
+
+    // 개수가 생략된 hunk 헤더는 한 줄을 의미
+    private static int count(String value) {
+        return value == null ? 1 : Integer.parseInt(value);
+    }
+}
@@ -0,0 +1,15 @@
+package com.git_rest_api.github.diff;
+
+import java.util.List;
+
+/**
+ * 커밋 diff 인덱싱 완료 표시 (file_diff:{owner}:{repo}:{sha}).
+ * 파일별 diff는 각각 밀려날 수 있으므로 인덱싱한 경로를 함께 남겨 "변경 없음"과 "밀려남"을 구분한다.
+ * truncated이면 diff.max-bytes에서 잘려 paths 이후의 파일은 인덱싱되지 않았다.
+ */
+public record DiffIndex(boolean truncated, List<String> paths) {
+
+    public boolean contains(String path) {
+        return paths.contains(path);
+    }
+}
@@ -0,0 +1,9 @@
+package com.git_rest_api.github.diff;
+
+// hunk 안의 한 줄 (추가된 줄은 oldNumber, 삭제된 줄은 newNumber가 null)
+public record DiffLine(Type type, Integer oldNumber, Integer newNumber, String content) {
+
+    public enum Type {
+        CONTEXT, ADDED, REMOVED
+    }
+}
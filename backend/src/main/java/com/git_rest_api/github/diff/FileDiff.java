@@ -0,0 +1,23 @@
+package com.git_rest_api.github.diff;
+
+import java.util.List;
+
+// unified diff 중 파일 하나에 해당하는 구간 (추가된 파일은 oldPath, 삭제된 파일은 newPath가 null)
+public record FileDiff(String oldPath, String newPath, String text) {
+
+    public String path() {
+        return newPath != null ? newPath : oldPath;
+    }
+
+    public boolean matches(String filePath) {
+        return filePath.equals(newPath) || filePath.equals(oldPath);
+    }
+
+    // 인덱싱할 경로 (matches와 같은 기준이라 이름이 바뀐 파일은 이전 경로로도 조회됨)
+    public List<String> paths() {
+        if (oldPath != null && newPath != null && !oldPath.equals(newPath)) {
+            return List.of(newPath, oldPath);
+        }
+        return path() != null ? List.of(path()) : List.of();
+    }
+}
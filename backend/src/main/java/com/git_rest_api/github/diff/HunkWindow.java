@@ -0,0 +1,7 @@
+package com.git_rest_api.github.diff;
+
+import java.util.List;
+
+// 요청한 범위의 hunk 목록과 파일 전체 hunk 개수
+public record HunkWindow(List<DiffHunk> hunks, int totalHunks, int fromHunk, int toHunk) {
+}
@@ -0,0 +1,173 @@
+package com.git_rest_api.github.diff;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * HTTP 응답 스트림에서 unified diff를 한 줄씩 읽어 파일 단위로 넘겨주는 파서.
+ * 전체 diff를 문자열로 들고 있지 않고, 읽은 바이트가 maxBytes를 넘으면 그 지점에서 읽기를 멈춘다.
+ */
+public class UnifiedDiffParser {
+
+    private static final String DIFF_HEADER = "diff --git ";
+
+    private final long maxBytes;
+
+    public UnifiedDiffParser(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 파일별 diff를 consumer로 넘긴다.
+     * 크기 제한에 걸리면 마지막에 읽던 (불완전한) 파일은 버리고 false를 반환한다.
+     */
+    public boolean parse(InputStream in, Consumer<FileDiff> consumer) throws IOException {
+        LimitedInputStream limited = new LimitedInputStream(in, maxBytes);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(limited, StandardCharsets.UTF_8));
+
+        Section current = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith(DIFF_HEADER)) {
+                if (current != null) {
+                    consumer.accept(current.toFileDiff());
+                }
+                current = new Section(line);
+            } else if (current != null) {
+                current.add(line);
+            }
+        }
+
+        if (limited.isLimitReached()) {
+            return false;
+        }
+        if (current != null) {
+            consumer.accept(current.toFileDiff());
+        }
+        return true;
+    }
+
+    // 지정한 경로와 정확히 일치하는 파일의 diff만 반환 (없으면 null)
+    public FileDiff find(InputStream in, String filePath) throws IOException {
+        FileDiff[] found = new FileDiff[1];
+        parse(in, fileDiff -> {
+            if (found[0] == null && fileDiff.matches(filePath)) {
+                found[0] = fileDiff;
+            }
+        });
+        return found[0];
+    }
+
+    private static class Section {
+        private final StringBuilder text = new StringBuilder();
+        private String oldPath;
+        private String newPath;
+        private boolean inHunks;
+
+        Section(String header) {
+            text.append(header).append('\n');
+            parseGitHeader(header.substring(DIFF_HEADER.length()));
+        }
+
+        void add(String line) {
+            text.append(line).append('\n');
+            if (inHunks) {
+                return;
+            }
+
+            // 헤더 구간에서만 경로를 해석 (hunk 안의 "--- a/..." 내용과 구분)
+            if (line.startsWith("@@")) {
+                inHunks = true;
+            } else if (line.startsWith("--- ")) {
+                oldPath = stripPrefix(line.substring(4), "a/");
+            } else if (line.startsWith("+++ ")) {
+                newPath = stripPrefix(line.substring(4), "b/");
+            } else if (line.startsWith("rename from ")) {
+                oldPath = line.substring("rename from ".length());
+            } else if (line.startsWith("rename to ")) {
+                newPath = line.substring("rename to ".length());
+            } else if (line.startsWith("new file mode")) {
+                oldPath = null;
+            } else if (line.startsWith("deleted file mode")) {
+                newPath = null;
+            }
+        }
+
+        // "a/<path> b/<path>" 형태에서 경로 추출 (경로에 " b/"가 포함된 경우도 양쪽이 같으면 정확히 분리)
+        private void parseGitHeader(String paths) {
+            if (!paths.startsWith("a/")) {
+                return;
+            }
+            if ((paths.length() - 5) % 2 == 0) {
+                String path = paths.substring(2, 2 + (paths.length() - 5) / 2);
+                if (paths.equals("a/" + path + " b/" + path)) {
+                    oldPath = path;
+                    newPath = path;
+                    return;
+                }
+            }
+            int split = paths.lastIndexOf(" b/");
+            if (split > 0) {
+                oldPath = paths.substring(2, split);
+                newPath = paths.substring(split + 3);
+            }
+        }
+
+        private static String stripPrefix(String path, String prefix) {
+            if (path.equals("/dev/null")) {
+                return null;
+            }
+            return path.startsWith(prefix) ? path.substring(prefix.length()) : path;
+        }
+
+        FileDiff toFileDiff() {
+            return new FileDiff(oldPath, newPath, text.toString());
+        }
+    }
+
+    // 읽은 바이트 수가 제한을 넘으면 EOF로 처리하는 스트림
+    private static class LimitedInputStream extends FilterInputStream {
+        private long remaining;
+        private boolean limitReached;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                limitReached = limitReached || in.read() != -1;
+                return -1;
+            }
+            int b = in.read();
+            if (b != -1) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                limitReached = limitReached || in.read() != -1;
+                return -1;
+            }
+            int n = in.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        boolean isLimitReached() {
+            return limitReached;
+        }
+    }
+}
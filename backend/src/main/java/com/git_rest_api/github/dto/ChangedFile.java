@@ -0,0 +1,4 @@
+package com.git_rest_api.github.dto;
+
+public record ChangedFile(String fileName, String patch, int additions, int deletions, String status) {
+}
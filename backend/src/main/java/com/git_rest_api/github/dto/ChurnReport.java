@@ -0,0 +1,20 @@
+package com.git_rest_api.github.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+// 저장소 기여자/변경량 통계 (hotFiles는 추가+삭제 줄 수가 많은 순, weeks는 오래된 주부터)
+public record ChurnReport(String owner, String repo, String headSha, long commits, long skippedCommits,
+                          boolean truncated, Instant updatedAt,
+                          List<AuthorChurn> authors, List<PathChurn> hotFiles, List<WeekChurn> weeks) {
+
+    public record AuthorChurn(String email, String name, long commits, long additions, long deletions) {
+    }
+
+    public record PathChurn(String path, long commits, long additions, long deletions) {
+    }
+
+    public record WeekChurn(LocalDate weekStart, long commits, long additions, long deletions) {
+    }
+}
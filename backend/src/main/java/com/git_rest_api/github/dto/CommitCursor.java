@@ -0,0 +1,41 @@
+package com.git_rest_api.github.dto;
+
+import java.util.regex.Pattern;
+
+/**
+ * 커밋 목록 커서 ("{head}.{offset}"): 목록을 처음 조회할 때의 HEAD SHA와 그 HEAD 목록에서 이미 넘긴 커밋 수.
+ * 같은 HEAD의 목록을 위치로 이어서 조회하므로 번호 페이지와 순서가 같고, push 이후에도 보던 목록이 바뀌지 않는다.
+ */
+public record CommitCursor(String head, int offset) {
+
+    private static final Pattern SHA = Pattern.compile("[0-9a-fA-F]{7,64}");
+
+    // 이전 형식의 커서(마지막 SHA)는 그 커밋부터의 목록에서 커밋 자신을 건너뛴 위치로 해석
+    public static CommitCursor parse(String cursor) {
+        int separator = cursor.lastIndexOf('.');
+        String head = separator > 0 ? cursor.substring(0, separator) : cursor;
+        if (!SHA.matcher(head).matches()) {
+            throw new IllegalArgumentException("Invalid commit cursor: " + cursor);
+        }
+        if (separator < 0) {
+            return new CommitCursor(head, 1);
+        }
+        try {
+            int offset = Integer.parseInt(cursor.substring(separator + 1));
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid commit cursor: " + cursor);
+            }
+            return new CommitCursor(head, offset);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid commit cursor: " + cursor, e);
+        }
+    }
+
+    public CommitCursor advance(int count) {
+        return new CommitCursor(head, offset + count);
+    }
+
+    public String encode() {
+        return head + "." + offset;
+    }
+}
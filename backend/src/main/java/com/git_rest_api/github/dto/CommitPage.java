@@ -0,0 +1,8 @@
+package com.git_rest_api.github.dto;
+
+import java.util.List;
+
+// 커밋 목록 한 페이지 (nextCursor를 다음 요청의 cursor로 넘기면 이어서 조회)
+public record CommitPage(List<CommitSummary> commits, String repoName, String owner,
+                         int currentPage, int perPage, String cursor, String nextCursor) {
+}
@@ -0,0 +1,11 @@
+package com.git_rest_api.github.dto;
+
+import java.util.List;
+
+// 통계 집계용 커밋 정보 (patch 없이 파일별 줄 수만, 저장하지 않음)
+public record CommitStats(CommitSummary commit, int parentCount, List<ChangedFile> changedFiles) {
+
+    public boolean isMerge() {
+        return parentCount > 1;
+    }
+}
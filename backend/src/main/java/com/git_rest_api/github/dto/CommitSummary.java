@@ -0,0 +1,6 @@
+package com.git_rest_api.github.dto;
+
+import java.time.Instant;
+
+public record CommitSummary(String sha, String authorName, String authorEmail, Instant commitDate, String message) {
+}
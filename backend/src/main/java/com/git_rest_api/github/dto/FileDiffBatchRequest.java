@@ -0,0 +1,6 @@
+package com.git_rest_api.github.dto;
+
+import java.util.List;
+
+public record FileDiffBatchRequest(List<String> paths) {
+}
@@ -0,0 +1,19 @@
+package com.git_rest_api.github.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+
+// 저장소 목록 항목 (last*, openPullRequests는 enrich=true 일 때만 채워짐)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RepoSummary(String name, String owner, String defaultBranch,
+                          String lastCommitSha, Instant lastCommitDate, Integer openPullRequests) {
+
+    public RepoSummary withLastCommit(String sha, Instant date) {
+        return new RepoSummary(name, owner, defaultBranch, sha, date, openPullRequests);
+    }
+
+    public RepoSummary withOpenPullRequests(Integer count) {
+        return new RepoSummary(name, owner, defaultBranch, lastCommitSha, lastCommitDate, count);
+    }
+}
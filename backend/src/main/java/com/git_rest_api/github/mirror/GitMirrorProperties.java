@@ -0,0 +1,35 @@
+package com.git_rest_api.github.mirror;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 로컬 bare mirror로 커밋 목록/상세/diff를 계산할 저장소 설정.
+ * repos에 "owner/repo" 형식으로 등록한 저장소만 mirror를 사용하고 나머지는 GitHub API를 사용한다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "git-mirror")
+public class GitMirrorProperties {
+
+    // mirror를 보관할 디렉터리 ({base-dir}/{owner}/{repo}.git)
+    private String baseDir = "./data/mirrors";
+    // clone/fetch 주소 ({owner}, {repo} 치환, 테스트에서는 file:// 경로 사용 가능)
+    private String remoteUrl = "https://github.com/{owner}/{repo}.git";
+    // 마지막 fetch 이후 이 시간이 지나면 조회 전에 fetch
+    private Duration fetchInterval = Duration.ofMinutes(1);
+    private List<String> repos = new ArrayList<>();
+
+    public boolean handles(String owner, String repo) {
+        return repos.stream().anyMatch(name -> name.equalsIgnoreCase(owner + "/" + repo));
+    }
+
+    public String remoteUrl(String owner, String repo) {
+        return remoteUrl.replace("{owner}", owner).replace("{repo}", repo);
+    }
+}
@@ -0,0 +1,419 @@
+package com.git_rest_api.github.mirror;
+
+import com.git_rest_api.github.dto.ChangedFile;
+import com.git_rest_api.github.dto.CommitCursor;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitStats;
+import com.git_rest_api.github.dto.CommitSummary;
+import jakarta.annotation.PreDestroy;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.diff.DiffEntry;
+import org.eclipse.jgit.diff.DiffFormatter;
+import org.eclipse.jgit.diff.Edit;
+import org.eclipse.jgit.errors.MissingObjectException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.revwalk.RevSort;
+import org.eclipse.jgit.revwalk.RevTree;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.storage.file.FileRepositoryBuilder;
+import org.eclipse.jgit.transport.CredentialsProvider;
+import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 저장소별 로컬 bare mirror에서 커밋 목록/상세/diff를 계산하는 GitHub API 대체 경로.
+ * mirror는 처음 조회할 때 백그라운드에서 clone 하고(끝날 때까지는 GitHub API 사용),
+ * 이후에는 fetch-interval 마다(또는 push webhook 수신 후) 증분 fetch 한다.
+ * 브랜치와 태그만 받으므로 refs/pull/* 등 GitHub이 만드는 참조의 객체는 받지 않는다.
+ * 응답 형식은 GitHub API 경로와 같은 DTO와 unified diff를 사용하므로 캐시/인덱싱 코드를 그대로 쓴다.
+ */
+@Component
+public class GitMirrorService {
+
+    private static final List<RefSpec> REF_SPECS = List.of(
+            new RefSpec("+refs/heads/*:refs/heads/*"), new RefSpec("+refs/tags/*:refs/tags/*"));
+
+    private final GitMirrorProperties properties;
+    private final CredentialsProvider credentials;
+    private final ConcurrentHashMap<String, Mirror> mirrors = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor cloner;
+
+    private static class Mirror {
+        final ReentrantLock lock = new ReentrantLock();
+        final AtomicBoolean cloning = new AtomicBoolean();
+        volatile Repository repository;
+        volatile long lastFetchMillis;
+        // 마지막으로 clone에 실패한 시각 (fetch-interval 동안 다시 시도하지 않음)
+        volatile long cloneFailedMillis;
+        // 모르는 SHA 때문에 마지막으로 fetch한 시각 (잘못된 SHA 요청마다 fetch하지 않도록 fetch-interval 당 한 번)
+        volatile long missFetchMillis;
+    }
+
+    public GitMirrorService(GitMirrorProperties properties, @Value("${github.token:}") String githubToken) {
+        this.properties = properties;
+        // 비공개 저장소 clone/fetch용 (GitHub은 토큰을 비밀번호로 받음)
+        this.credentials = githubToken == null || githubToken.isEmpty()
+                ? null : new UsernamePasswordCredentialsProvider("x-access-token", githubToken);
+        this.cloner = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "git-mirror-clone");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // GitHub 저장소 이름은 대소문자를 구분하지 않으므로 mirror도 소문자 이름 하나로 관리
+    private static String mirrorKey(String owner, String repo) {
+        return (owner + "/" + repo).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * mirror로 설정되어 있고 clone이 끝난 저장소인지. 아직 clone 전이면 백그라운드 clone을 시작하고 false를 반환하므로
+     * 그동안의 요청은 GitHub API 경로로 처리된다.
+     */
+    public boolean handles(String owner, String repo) {
+        if (!properties.handles(owner, repo)) {
+            return false;
+        }
+        Mirror mirror = mirrors.computeIfAbsent(mirrorKey(owner, repo), key -> new Mirror());
+        if (mirror.repository != null) {
+            return true;
+        }
+        if (System.currentTimeMillis() - mirror.cloneFailedMillis >= properties.getFetchInterval().toMillis()
+                && mirror.cloning.compareAndSet(false, true)) {
+            try {
+                cloner.execute(() -> {
+                    try {
+                        open(owner, repo);
+                    } catch (IOException | RuntimeException e) {
+                        mirror.cloneFailedMillis = System.currentTimeMillis();
+                    } finally {
+                        mirror.cloning.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                mirror.cloning.set(false);
+            }
+        }
+        return false;
+    }
+
+    // push webhook 등으로 변경을 알게 되면 다음 조회 때 바로 fetch
+    public void markStale(String owner, String repo) {
+        Mirror mirror = mirrors.get(mirrorKey(owner, repo));
+        if (mirror != null) {
+            mirror.lastFetchMillis = 0;
+        }
+    }
+
+    public CommitPage listCommits(String owner, String repo, int page, int perPage, String cursor) throws IOException {
+        Repository repository = open(owner, repo);
+        List<CommitSummary> commits = new ArrayList<>();
+        // 커서는 처음 조회한 HEAD와 그 목록에서의 위치 (GitHub API 경로와 같은 형식)
+        CommitCursor from = cursor != null ? CommitCursor.parse(cursor) : null;
+        ObjectId start = from != null ? resolveCommit(owner, repo, from.head()) : repository.resolve(Constants.HEAD);
+        int offset = from != null ? from.offset() : (page - 1) * perPage;
+        try (RevWalk walk = new RevWalk(repository)) {
+            if (start != null) {
+                walk.sort(RevSort.COMMIT_TIME_DESC);
+                walk.markStart(walk.parseCommit(start));
+                int skip = offset;
+                for (RevCommit commit : walk) {
+                    if (skip > 0) {
+                        skip--;
+                        continue;
+                    }
+                    commits.add(summaryOf(commit));
+                    if (commits.size() == perPage) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        String nextCursor = commits.size() == perPage
+                ? new CommitCursor(start.name(), offset).advance(perPage).encode() : null;
+        return new CommitPage(commits, repo, owner, page, perPage, cursor, nextCursor);
+    }
+
+    public CommitDetail getCommitDetail(String owner, String repo, String sha) throws IOException {
+        Repository repository = open(owner, repo);
+        ObjectId id = resolveCommit(owner, repo, sha);
+        try (RevWalk walk = new RevWalk(repository);
+             ByteArrayOutputStream patch = new ByteArrayOutputStream();
+             DiffFormatter formatter = new DiffFormatter(patch)) {
+            RevCommit commit = walk.parseCommit(id);
+            formatter.setRepository(repository);
+            formatter.setDetectRenames(true);
+
+            List<ChangedFile> changedFiles = new ArrayList<>();
+            for (DiffEntry entry : formatter.scan(parentTree(walk, commit), commit.getTree())) {
+                patch.reset();
+                formatter.format(entry);
+                String hunks = hunksOf(patch.toString(StandardCharsets.UTF_8));
+                // diff를 다시 계산하지 않고 출력한 hunk에서 추가/삭제 줄 수를 셈
+                int additions = 0;
+                int deletions = 0;
+                if (hunks != null) {
+                    for (String line : hunks.split("\n")) {
+                        if (line.startsWith("+")) {
+                            additions++;
+                        } else if (line.startsWith("-")) {
+                            deletions++;
+                        }
+                    }
+                }
+                changedFiles.add(new ChangedFile(pathOf(entry), hunks, additions, deletions,
+                        statusOf(entry.getChangeType())));
+            }
+
+            return new CommitDetail(summaryOf(commit), changedFiles, owner, repo);
+        }
+    }
+
+    // 통계용: patch 텍스트 없이 파일별 추가/삭제 줄 수만 계산
+    public CommitStats getCommitStats(String owner, String repo, String sha) throws IOException {
+        Repository repository = open(owner, repo);
+        ObjectId id = resolveCommit(owner, repo, sha);
+        try (RevWalk walk = new RevWalk(repository);
+             DiffFormatter formatter = new DiffFormatter(OutputStream.nullOutputStream())) {
+            RevCommit commit = walk.parseCommit(id);
+            formatter.setRepository(repository);
+            formatter.setDetectRenames(true);
+
+            List<ChangedFile> changedFiles = new ArrayList<>();
+            for (DiffEntry entry : formatter.scan(parentTree(walk, commit), commit.getTree())) {
+                int additions = 0;
+                int deletions = 0;
+                for (Edit edit : formatter.toFileHeader(entry).toEditList()) {
+                    additions += edit.getLengthB();
+                    deletions += edit.getLengthA();
+                }
+                changedFiles.add(new ChangedFile(pathOf(entry), null, additions, deletions,
+                        statusOf(entry.getChangeType())));
+            }
+
+            return new CommitStats(summaryOf(commit), commit.getParentCount(), changedFiles);
+        }
+    }
+
+    /**
+     * 커밋 전체의 unified diff (GitHub의 application/vnd.github.v3.diff 응답과 같은 형식).
+     * maxBytes를 넘으면 maxBytes + 1 바이트에서 자르므로 UnifiedDiffParser가 잘린 diff로 처리한다.
+     */
+    public InputStream openCommitDiff(String owner, String repo, String sha, long maxBytes) throws IOException {
+        Repository repository = open(owner, repo);
+        ObjectId id = resolveCommit(owner, repo, sha);
+        CappedOutputStream out = new CappedOutputStream(maxBytes + 1);
+        try (RevWalk walk = new RevWalk(repository);
+             DiffFormatter formatter = new DiffFormatter(out)) {
+            RevCommit commit = walk.parseCommit(id);
+            formatter.setRepository(repository);
+            formatter.setDetectRenames(true);
+            formatter.format(parentTree(walk, commit), commit.getTree());
+            formatter.flush();
+        } catch (CappedOutputStream.LimitReachedException e) {
+            // 제한까지 기록한 내용만 사용
+        }
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    // 요청한 SHA가 mirror에 아직 없으면 한 번 fetch 한 뒤 다시 찾음
+    private ObjectId resolveCommit(String owner, String repo, String sha) throws IOException {
+        ObjectId id = findCommit(open(owner, repo), sha);
+        Mirror mirror = mirrors.get(mirrorKey(owner, repo));
+        long now = System.currentTimeMillis();
+        if (id == null && mirror != null && now - mirror.missFetchMillis >= properties.getFetchInterval().toMillis()) {
+            // 방금 push된 커밋일 수 있으므로 한 번만 새로 받아 다시 찾음
+            mirror.missFetchMillis = now;
+            markStale(owner, repo);
+            id = findCommit(open(owner, repo), sha);
+        }
+        if (id == null) {
+            throw new IOException("Commit not found in mirror: " + owner + "/" + repo + "@" + sha);
+        }
+        return id;
+    }
+
+    private static ObjectId findCommit(Repository repository, String sha) throws IOException {
+        try {
+            return repository.resolve(sha + "^{commit}");
+        } catch (MissingObjectException e) {
+            // 전체 SHA는 객체가 없어도 파싱되므로 peel 단계에서 예외가 남
+            return null;
+        }
+    }
+
+    private Repository open(String owner, String repo) throws IOException {
+        Mirror mirror = mirrors.computeIfAbsent(mirrorKey(owner, repo), key -> new Mirror());
+        boolean stale = System.currentTimeMillis() - mirror.lastFetchMillis >= properties.getFetchInterval().toMillis();
+        if (mirror.repository != null && !stale) {
+            return mirror.repository;
+        }
+
+        // 처음 clone(백그라운드)은 기다리고, 이후 fetch는 다른 요청이 진행 중이면 현재 mirror로 응답
+        if (mirror.repository == null) {
+            mirror.lock.lock();
+        } else if (!mirror.lock.tryLock()) {
+            return mirror.repository;
+        }
+        try {
+            if (mirror.repository == null) {
+                mirror.repository = cloneOrOpen(owner, repo);
+            } else if (System.currentTimeMillis() - mirror.lastFetchMillis >= properties.getFetchInterval().toMillis()) {
+                fetch(mirror.repository);
+            }
+            mirror.lastFetchMillis = System.currentTimeMillis();
+            return mirror.repository;
+        } finally {
+            mirror.lock.unlock();
+        }
+    }
+
+    private Repository cloneOrOpen(String owner, String repo) throws IOException {
+        File directory = Path.of(properties.getBaseDir(), owner.toLowerCase(Locale.ROOT),
+                repo.toLowerCase(Locale.ROOT) + ".git").toFile();
+        if (new File(directory, "HEAD").exists()) {
+            // Git 래퍼를 거치지 않고 저장소만 열어 닫을 대상이 남지 않도록 함
+            Repository repository = new FileRepositoryBuilder().setGitDir(directory).setMustExist(true).build();
+            fetch(repository);
+            return repository;
+        }
+
+        Files.createDirectories(directory.toPath().getParent());
+        try {
+            // bare clone은 refs/heads/* 만 받으므로 태그는 바로 이어서 fetch
+            Repository repository = Git.cloneRepository()
+                    .setURI(properties.remoteUrl(owner, repo))
+                    .setDirectory(directory)
+                    .setBare(true)
+                    .setCredentialsProvider(credentials)
+                    .call()
+                    .getRepository();
+            fetch(repository);
+            return repository;
+        } catch (GitAPIException e) {
+            throw new IOException("Failed to clone mirror for " + owner + "/" + repo, e);
+        }
+    }
+
+    // 브랜치와 태그만 새 객체를 받아옴 (이전에 mirror 설정으로 만든 저장소도 refspec을 직접 지정하므로 같음)
+    private void fetch(Repository repository) throws IOException {
+        try (Git git = new Git(repository)) {
+            git.fetch()
+                    .setRefSpecs(REF_SPECS)
+                    .setRemoveDeletedRefs(true)
+                    .setCredentialsProvider(credentials)
+                    .call();
+        } catch (GitAPIException e) {
+            throw new IOException("Failed to fetch mirror " + repository.getDirectory(), e);
+        }
+    }
+
+    // 머지 커밋은 GitHub과 같이 첫 번째 부모 기준으로 비교 (최초 커밋은 빈 트리와 비교)
+    private static RevTree parentTree(RevWalk walk, RevCommit commit) throws IOException {
+        return commit.getParentCount() > 0 ? walk.parseCommit(commit.getParent(0).getId()).getTree() : null;
+    }
+
+    private static CommitSummary summaryOf(RevCommit commit) {
+        PersonIdent author = commit.getAuthorIdent();
+        // GitHub API의 commitDate와 같이 committer 시각 사용
+        return new CommitSummary(commit.getName(), author.getName(), author.getEmailAddress(),
+                commit.getCommitterIdent().getWhenAsInstant(), commit.getFullMessage().stripTrailing());
+    }
+
+    // GitHub의 patch 필드와 같이 파일 헤더를 빼고 hunk 부분만 (바이너리 파일은 null)
+    private static String hunksOf(String formatted) {
+        int start = formatted.startsWith("@@") ? 0 : formatted.indexOf("\n@@");
+        if (start < 0) {
+            return null;
+        }
+        return formatted.substring(start == 0 ? 0 : start + 1).stripTrailing();
+    }
+
+    private static String pathOf(DiffEntry entry) {
+        return entry.getChangeType() == DiffEntry.ChangeType.DELETE ? entry.getOldPath() : entry.getNewPath();
+    }
+
+    private static String statusOf(DiffEntry.ChangeType changeType) {
+        return switch (changeType) {
+            case ADD -> "added";
+            case DELETE -> "removed";
+            case RENAME -> "renamed";
+            case COPY -> "copied";
+            default -> "modified";
+        };
+    }
+
+    @PreDestroy
+    public void close() {
+        cloner.shutdownNow();
+        mirrors.values().forEach(mirror -> {
+            if (mirror.repository != null) {
+                mirror.repository.close();
+            }
+        });
+    }
+
+    // limit 바이트까지만 기록하고 넘치면 예외로 diff 생성을 중단
+    private static class CappedOutputStream extends OutputStream {
+
+        static class LimitReachedException extends IOException {
+        }
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        private final long limit;
+
+        CappedOutputStream(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (buffer.size() >= limit) {
+                throw new LimitReachedException();
+            }
+            buffer.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int allowed = (int) Math.min(len, limit - buffer.size());
+            buffer.write(b, off, allowed);
+            if (allowed < len) {
+                throw new LimitReachedException();
+            }
+        }
+
+        byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.git_rest_api.github.prefetch;
+
+import com.git_rest_api.github.dto.ChangedFile;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitSummary;
+import com.git_rest_api.github.ratelimit.GithubCallScheduler;
+import com.git_rest_api.github.ratelimit.GithubRateLimitException;
+import com.git_rest_api.github.service.CommitQueryService;
+import com.git_rest_api.github.service.GithubService;
+import com.git_rest_api.redis.CacheProperties;
+import com.git_rest_api.redis.CacheResult;
+import com.git_rest_api.redis.CacheService;
+import com.git_rest_api.store.ImmutableObjectStore;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 커밋 목록 -> 커밋 상세 -> 파일 diff 순서로 이동하는 일반적인 탐색 경로를 미리 캐시에 채운다.
+ * 작업은 크기가 제한된 큐와 스레드에서 BACKGROUND 우선순위로 실행되므로 사용자 요청보다 뒤로 밀리고,
+ * rate limit 예산이 background-reserve 이하로 떨어지면 GitHub을 호출하지 않고 건너뛴다.
+ * 미리 가져온 키가 실제로 조회되면 prefetch.hits 로 기록한다 (적중률 = hits / requests{result=loaded}).
+ */
+@Component
+public class CommitPrefetcher {
+
+    private final CommitQueryService commitQueryService;
+    private final GithubService githubService;
+    private final CacheService cacheService;
+    private final ImmutableObjectStore immutableObjectStore;
+    private final GithubCallScheduler callScheduler;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final boolean nextPage;
+    private final boolean firstFileDiff;
+    private final ThreadPoolExecutor executor;
+    // 큐에 들어가 있거나 실행 중인 키 (같은 키를 중복으로 넣지 않음)
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    // 미리 가져왔지만 아직 조회되지 않은 키
+    private final Cache<String, Boolean> prefetched;
+
+    public CommitPrefetcher(CommitQueryService commitQueryService, GithubService githubService,
+                            CacheService cacheService, ImmutableObjectStore immutableObjectStore,
+                            GithubCallScheduler callScheduler, MeterRegistry meterRegistry,
+                            @Value("${prefetch.enabled:true}") boolean enabled,
+                            @Value("${prefetch.next-page:true}") boolean nextPage,
+                            @Value("${prefetch.first-file-diff:false}") boolean firstFileDiff,
+                            @Value("${prefetch.concurrency:2}") int concurrency,
+                            @Value("${prefetch.queue-size:200}") int queueSize,
+                            @Value("${prefetch.hit-window:30m}") Duration hitWindow) {
+        this.commitQueryService = commitQueryService;
+        this.githubService = githubService;
+        this.cacheService = cacheService;
+        this.immutableObjectStore = immutableObjectStore;
+        this.callScheduler = callScheduler;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.nextPage = nextPage;
+        this.firstFileDiff = firstFileDiff;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "commit-prefetch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.prefetched = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(hitWindow)
+                .build();
+
+        Gauge.builder("prefetch.queue_depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 목록에 나온 커밋들의 상세와 (설정 시) 다음 페이지.
+     * 캐시 적중(stale 아님)이면 같은 페이지를 처음 가져올 때 이미 미리 가져왔으므로 건너뛴다.
+     */
+    public void afterCommitPage(CacheResult<CommitPage> result) {
+        if (!enabled || (result.fromCache() && !result.stale())) {
+            return;
+        }
+        CommitPage page = result.value();
+        String owner = page.owner();
+        String repo = page.repoName();
+
+        for (CommitSummary commit : page.commits()) {
+            String key = CommitQueryService.commitDetailKey(owner, repo, commit.sha());
+            submit(key, () -> commitQueryService.getCommitDetail(owner, repo, commit.sha()),
+                    () -> immutableObjectStore.contains(key));
+        }
+
+        // nextCursor가 없으면 마지막 페이지
+        if (nextPage && page.nextCursor() != null) {
+            String cursor = page.cursor() != null ? page.nextCursor() : null;
+            int next = page.cursor() != null ? page.currentPage() : page.currentPage() + 1;
+            String key = CommitQueryService.commitPageKey(owner, repo, next, page.perPage(), cursor);
+            submit(key, () -> commitQueryService.getCommitPage(owner, repo, next, page.perPage(), cursor),
+                    () -> cacheService.isCached(key));
+        }
+    }
+
+    // 커밋의 첫 번째 파일 diff (커밋 diff 전체가 한 번에 인덱싱되므로 나머지 파일도 함께 채워짐)
+    public void afterCommitDetail(CommitDetail detail, String sha) {
+        if (!enabled || !firstFileDiff || detail.changedFiles().isEmpty()) {
+            return;
+        }
+        ChangedFile first = detail.changedFiles().get(0);
+        String key = GithubService.fileDiffKey(detail.owner(), detail.repo(), sha, first.fileName());
+        submit(key, () -> githubService.getFileDiff(detail.owner(), detail.repo(), sha, first.fileName()),
+                () -> immutableObjectStore.contains(key));
+    }
+
+    // 사용자 요청이 조회하는 키를 알려주면 미리 가져온 키인지 확인해 적중 횟수를 기록
+    public void recordAccess(String key) {
+        if (enabled && prefetched.asMap().remove(key) != null) {
+            meterRegistry.counter("prefetch.hits", "type", CacheProperties.namespaceOf(key)).increment();
+        }
+    }
+
+    private void submit(String key, CacheService.Loader<?> loader, BooleanSupplier cached) {
+        if (!queued.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> callScheduler.runInBackground(() -> prefetch(key, loader, cached)));
+        } catch (RejectedExecutionException e) {
+            // 큐가 가득 차면 버림 (사용자 요청이 직접 가져옴)
+            queued.remove(key);
+            count(key, "dropped");
+        }
+    }
+
+    // cached는 값을 읽지 않고 키 존재 여부만 확인 (EXISTS)
+    private void prefetch(String key, CacheService.Loader<?> loader, BooleanSupplier cached) {
+        try {
+            if (cached.getAsBoolean()) {
+                count(key, "already_cached");
+                return;
+            }
+            loader.load();
+            prefetched.put(key, Boolean.TRUE);
+            count(key, "loaded");
+        } catch (GithubRateLimitException e) {
+            count(key, "skipped_budget");
+        } catch (IOException | RuntimeException e) {
+            count(key, "failed");
+        } finally {
+            queued.remove(key);
+        }
+    }
+
+    private void count(String key, String result) {
+        meterRegistry.counter("prefetch.requests",
+                "type", CacheProperties.namespaceOf(key), "result", result).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
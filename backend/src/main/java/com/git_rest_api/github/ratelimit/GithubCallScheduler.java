@@ -0,0 +1,188 @@
+package com.git_rest_api.github.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 모든 GitHub 호출이 거쳐 가는 스케줄러.
+ * 동시에 나가는 호출 수를 제한하고, 사용자 요청(INTERACTIVE)을 백그라운드 갱신(BACKGROUND)보다 먼저 내보낸다.
+ * 토큰의 남은 rate limit이 예약분 이하로 떨어지면 호출을 보내지 않고 GithubRateLimitException을 던진다.
+ */
+@Component
+public class GithubCallScheduler {
+
+    public enum Priority {
+        INTERACTIVE, BACKGROUND
+    }
+
+    @FunctionalInterface
+    public interface GithubCall<T> {
+        T call() throws IOException;
+    }
+
+    // 현재 스레드에서 나가는 호출의 우선순위 (기본은 사용자 요청)
+    private static final ThreadLocal<Priority> CURRENT_PRIORITY = ThreadLocal.withInitial(() -> Priority.INTERACTIVE);
+
+    private final RateLimitTracker rateLimitTracker;
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+    private final int interactiveReserve;
+    private final int backgroundReserve;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private int running;
+    private int waitingInteractive;
+    private int waitingBackground;
+
+    public GithubCallScheduler(RateLimitTracker rateLimitTracker, MeterRegistry meterRegistry,
+                               @Value("${github.scheduler.max-concurrent:16}") int maxConcurrent,
+                               @Value("${github.scheduler.max-queued:200}") int maxQueued,
+                               @Value("${github.scheduler.queue-timeout:5s}") Duration queueTimeout,
+                               @Value("${github.scheduler.interactive-reserve:50}") int interactiveReserve,
+                               @Value("${github.scheduler.background-reserve:1000}") int backgroundReserve) {
+        this.rateLimitTracker = rateLimitTracker;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.queueTimeout = queueTimeout;
+        this.interactiveReserve = interactiveReserve;
+        this.backgroundReserve = backgroundReserve;
+
+        Gauge.builder("github.scheduler.queue_depth", this, s -> s.waitingInteractive)
+                .tag("priority", "interactive")
+                .register(meterRegistry);
+        Gauge.builder("github.scheduler.queue_depth", this, s -> s.waitingBackground)
+                .tag("priority", "background")
+                .register(meterRegistry);
+        Gauge.builder("github.scheduler.running", this, s -> s.running)
+                .register(meterRegistry);
+    }
+
+    /**
+     * operation은 호출 종류 이름으로 지표 태그에 사용한다.
+     * - github.calls{operation, outcome}: 슬롯을 얻은 뒤 GitHub 호출에 걸린 시간 (히스토그램)
+     * - github.scheduler.wait{priority}: 슬롯을 기다린 시간
+     * - github.scheduler.rejected{operation, reason}: 예산 부족/대기열 초과로 보내지 않은 호출
+     */
+    public <T> T call(String credential, String operation, GithubCall<T> call) throws IOException {
+        Priority priority = CURRENT_PRIORITY.get();
+
+        int reserve = priority == Priority.INTERACTIVE ? interactiveReserve : backgroundReserve;
+        if (rateLimitTracker.remaining(credential) <= reserve) {
+            meterRegistry.counter("github.scheduler.rejected", "operation", operation, "reason", "budget").increment();
+            throw new GithubRateLimitException("GitHub rate limit budget exhausted",
+                    rateLimitTracker.secondsUntilReset(credential));
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            acquire(priority);
+        } catch (GithubRateLimitException e) {
+            meterRegistry.counter("github.scheduler.rejected", "operation", operation, "reason", "queue").increment();
+            throw e;
+        }
+        long callStart = System.nanoTime();
+        meterRegistry.timer("github.scheduler.wait", "priority", priority.name().toLowerCase(Locale.ROOT))
+                .record(callStart - waitStart, TimeUnit.NANOSECONDS);
+
+        String outcome = "success";
+        try {
+            return call.call();
+        } catch (IOException | RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            release();
+            Timer.builder("github.calls")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - callStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 백그라운드 호출이 예약분을 남기고 더 보낼 수 있는 호출 수 (긴 작업을 나눠서 실행할 크기를 정할 때 사용)
+    public long backgroundBudget(String credential) {
+        return Math.max(0, (long) rateLimitTracker.remaining(credential) - backgroundReserve);
+    }
+
+    public Priority currentPriority() {
+        return CURRENT_PRIORITY.get();
+    }
+
+    // 백그라운드 작업(프리페치, 캐시 갱신 등)은 이 메서드 안에서 실행해 낮은 우선순위로 호출
+    public void runInBackground(Runnable task) {
+        Priority previous = CURRENT_PRIORITY.get();
+        CURRENT_PRIORITY.set(Priority.BACKGROUND);
+        try {
+            task.run();
+        } finally {
+            CURRENT_PRIORITY.set(previous);
+        }
+    }
+
+    // 결과가 필요한 백그라운드 호출 (통계 집계 등)
+    public <T> T callInBackground(GithubCall<T> task) throws IOException {
+        Priority previous = CURRENT_PRIORITY.get();
+        CURRENT_PRIORITY.set(Priority.BACKGROUND);
+        try {
+            return task.call();
+        } finally {
+            CURRENT_PRIORITY.set(previous);
+        }
+    }
+
+    private void acquire(Priority priority) throws IOException {
+        lock.lock();
+        try {
+            if (waitingInteractive + waitingBackground >= maxQueued) {
+                throw new GithubRateLimitException("GitHub call queue is full", 1);
+            }
+
+            boolean interactive = priority == Priority.INTERACTIVE;
+            if (interactive) waitingInteractive++; else waitingBackground++;
+            try {
+                long remainingNanos = queueTimeout.toNanos();
+                // 백그라운드 호출은 기다리는 사용자 요청이 없을 때만 나감
+                while (running >= maxConcurrent || (!interactive && waitingInteractive > 0)) {
+                    if (remainingNanos <= 0) {
+                        throw new GithubRateLimitException("Timed out waiting for a GitHub call slot", 1);
+                    }
+                    remainingNanos = released.awaitNanos(remainingNanos);
+                }
+                running++;
+            } finally {
+                if (interactive) waitingInteractive--; else waitingBackground--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a GitHub call slot", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            running--;
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.git_rest_api.github.ratelimit;
+
+import lombok.Getter;
+
+// rate limit 예산이 부족하거나 대기열이 가득 차서 GitHub 호출을 보내지 않은 경우
+@Getter
+public class GithubRateLimitException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public GithubRateLimitException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
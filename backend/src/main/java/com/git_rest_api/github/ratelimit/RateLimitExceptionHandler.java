@@ -0,0 +1,25 @@
+package com.git_rest_api.github.ratelimit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// GitHub 호출을 보내지 못한 요청은 500 대신 429와 Retry-After로 응답해 클라이언트가 다시 시도하도록 함
+@RestControllerAdvice
+public class RateLimitExceptionHandler {
+
+    @ExceptionHandler(GithubRateLimitException.class)
+    public ResponseEntity<Map<String, Object>> handleRateLimit(GithubRateLimitException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", e.getMessage());
+        errorResponse.put("retryAfterSeconds", e.getRetryAfterSeconds());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfterSeconds())))
+                .body(errorResponse);
+    }
+}
@@ -0,0 +1,109 @@
+package com.git_rest_api.github.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 토큰별 GitHub rate limit 잔여량 (X-RateLimit-Remaining / X-RateLimit-Reset 응답 헤더 기준).
+ * 토큰 원문 대신 해시 앞부분을 키와 지표 태그로 사용한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitTracker {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    private static class Budget {
+        volatile int limit = -1;
+        volatile int remaining = -1;
+        volatile long resetEpochSeconds;
+    }
+
+    // Authorization 헤더 값("token xxx", "Bearer xxx") 또는 토큰 원문에서 키를 만든다
+    public static String keyOf(String credential) {
+        if (credential == null) {
+            return "anonymous";
+        }
+        int space = credential.indexOf(' ');
+        String token = space >= 0 ? credential.substring(space + 1) : credential;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 6);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 헤더가 없거나 숫자가 아니면 그 값은 무시 (추적 때문에 GitHub 호출이 실패하지 않도록)
+    public void update(String credential, String limit, String remaining, String reset) {
+        long parsedRemaining = parse(remaining);
+        if (parsedRemaining < 0) {
+            return;
+        }
+        Budget budget = budget(keyOf(credential));
+        budget.remaining = (int) Math.min(parsedRemaining, Integer.MAX_VALUE);
+        long parsedLimit = parse(limit);
+        if (parsedLimit >= 0) {
+            budget.limit = (int) Math.min(parsedLimit, Integer.MAX_VALUE);
+        }
+        long parsedReset = parse(reset);
+        if (parsedReset >= 0) {
+            budget.resetEpochSeconds = parsedReset;
+        }
+    }
+
+    private static long parse(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // 아직 응답을 받은 적이 없거나 초기화 시각이 지났으면 제한 없음으로 간주
+    public int remaining(String credential) {
+        Budget budget = budgets.get(keyOf(credential));
+        if (budget == null || budget.remaining < 0 || nowSeconds() >= budget.resetEpochSeconds) {
+            return Integer.MAX_VALUE;
+        }
+        return budget.remaining;
+    }
+
+    public long secondsUntilReset(String credential) {
+        Budget budget = budgets.get(keyOf(credential));
+        return budget == null ? 0 : Math.max(0, budget.resetEpochSeconds - nowSeconds());
+    }
+
+    private Budget budget(String key) {
+        return budgets.computeIfAbsent(key, k -> {
+            Budget budget = new Budget();
+            Gauge.builder("github.rate_limit.remaining", budget, b -> b.remaining)
+                    .tag("token", k)
+                    .register(meterRegistry);
+            Gauge.builder("github.rate_limit.limit", budget, b -> b.limit)
+                    .tag("token", k)
+                    .register(meterRegistry);
+            Gauge.builder("github.rate_limit.reset_seconds", budget,
+                            b -> Math.max(0, b.resetEpochSeconds - nowSeconds()))
+                    .tag("token", k)
+                    .register(meterRegistry);
+            return budget;
+        });
+    }
+
+    private static long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
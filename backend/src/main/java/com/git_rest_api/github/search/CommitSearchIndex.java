@@ -0,0 +1,335 @@
+package com.git_rest_api.github.search;
+
+import com.git_rest_api.github.dto.CommitSummary;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 저장소 하나의 커밋 역색인 (메시지 단어, 작성자 이름/이메일 단어, 변경 파일 경로 -> 커밋 번호 BitSet).
+ * 서비스가 이미 가져온 커밋 목록/상세를 add로 계속 추가하며, 같은 커밋을 다시 추가하면 새로 알게 된 경로만 반영한다.
+ * 단어와 경로는 정렬된 맵에 두어 접두어 검색을 하고, 조건별 BitSet의 교집합으로 결과를 구한다.
+ * maxCommits를 넘으면 오래된(커밋 시각 기준) 커밋부터 10%를 한 번에 지우고 역색인을 다시 만든다.
+ */
+public class CommitSearchIndex {
+
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private static final Comparator<CommitSummary> NEWEST_FIRST = Comparator
+            .comparing(CommitSummary::commitDate, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(CommitSummary::sha);
+
+    public record SearchResult(List<CommitSummary> commits, int total) {
+    }
+
+    private final int maxCommits;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // 커밋 번호 = 목록의 위치
+    private final List<CommitSummary> commits = new ArrayList<>();
+    private final List<Set<String>> pathsByCommit = new ArrayList<>();
+    private final Map<String, Integer> idsBySha = new HashMap<>();
+    private final TreeMap<String, BitSet> messageTerms = new TreeMap<>();
+    private final TreeMap<String, BitSet> authorTerms = new TreeMap<>();
+    private final TreeMap<String, BitSet> paths = new TreeMap<>();
+    // 마지막 스냅샷 이후 변경 여부
+    private volatile boolean dirty;
+
+    public CommitSearchIndex() {
+        this(Integer.MAX_VALUE);
+    }
+
+    public CommitSearchIndex(int maxCommits) {
+        this.maxCommits = Math.max(1, maxCommits);
+    }
+
+    // 새 커밋이거나 새 경로가 추가되면 true
+    public boolean add(CommitSummary commit, Collection<String> changedPaths) {
+        lock.readLock().lock();
+        try {
+            // 이미 색인된 경우가 대부분이므로 쓰기 락 없이 확인
+            Integer id = idsBySha.get(commit.sha());
+            if (id != null && pathsByCommit.get(id).containsAll(changedPaths)) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            Integer id = idsBySha.get(commit.sha());
+            boolean added = false;
+            if (id == null) {
+                id = insert(commit);
+                added = true;
+            }
+            added |= addPaths(id, changedPaths);
+            if (commits.size() > maxCommits) {
+                evictOldest();
+            }
+            dirty |= added;
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 이미 색인된 커밋에만 경로를 더함 (색인되지 않은 커밋이면 false)
+    public boolean addPaths(String sha, Collection<String> changedPaths) {
+        lock.writeLock().lock();
+        try {
+            Integer id = idsBySha.get(sha);
+            if (id == null) {
+                return false;
+            }
+            boolean added = addPaths(id, changedPaths);
+            dirty |= added;
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int insert(CommitSummary commit) {
+        int id = commits.size();
+        commits.add(commit);
+        pathsByCommit.add(new HashSet<>());
+        idsBySha.put(commit.sha(), id);
+        for (String term : tokenize(commit.message())) {
+            post(messageTerms, term, id);
+        }
+        for (String term : tokenize(commit.authorName())) {
+            post(authorTerms, term, id);
+        }
+        for (String term : tokenize(commit.authorEmail())) {
+            post(authorTerms, term, id);
+        }
+        return id;
+    }
+
+    private boolean addPaths(int id, Collection<String> changedPaths) {
+        boolean added = false;
+        for (String path : changedPaths) {
+            if (pathsByCommit.get(id).add(path)) {
+                post(paths, path, id);
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    // 최신 커밋만 남기고 커밋 번호를 다시 매김 (한 번에 10%를 지워서 다시 만드는 비용을 나눔)
+    private void evictOldest() {
+        List<Integer> newest = new ArrayList<>(commits.size());
+        for (int id = 0; id < commits.size(); id++) {
+            newest.add(id);
+        }
+        newest.sort(Comparator.comparing(commits::get, NEWEST_FIRST));
+        int keep = Math.max(1, maxCommits - maxCommits / 10);
+
+        List<CommitSummary> keptCommits = new ArrayList<>(keep);
+        List<Set<String>> keptPaths = new ArrayList<>(keep);
+        for (int id : newest.subList(0, keep)) {
+            keptCommits.add(commits.get(id));
+            keptPaths.add(pathsByCommit.get(id));
+        }
+        commits.clear();
+        pathsByCommit.clear();
+        idsBySha.clear();
+        messageTerms.clear();
+        authorTerms.clear();
+        paths.clear();
+        for (int i = 0; i < keptCommits.size(); i++) {
+            addPaths(insert(keptCommits.get(i)), keptPaths.get(i));
+        }
+        dirty = true;
+    }
+
+    // 모든 조건을 만족하는 커밋을 최신순으로 limit 개까지 (total은 전체 일치 수)
+    public SearchResult search(CommitSearchQuery query, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = null;
+            for (String term : query.messageTerms()) {
+                matches = intersect(matches, prefixMatches(messageTerms, term));
+            }
+            for (String term : query.authorTerms()) {
+                matches = intersect(matches, prefixMatches(authorTerms, term));
+            }
+            for (String prefix : query.pathPrefixes()) {
+                matches = intersect(matches, prefixMatches(paths, prefix));
+            }
+            if (matches == null || matches.isEmpty()) {
+                return new SearchResult(List.of(), 0);
+            }
+
+            // 전체를 정렬하지 않고 최신 limit 개만 유지
+            PriorityQueue<CommitSummary> newest = new PriorityQueue<>(NEWEST_FIRST.reversed());
+            for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+                newest.add(commits.get(id));
+                if (newest.size() > limit) {
+                    newest.poll();
+                }
+            }
+            List<CommitSummary> result = new ArrayList<>(newest);
+            result.sort(NEWEST_FIRST);
+            return new SearchResult(result, matches.cardinality());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return commits.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    // 커밋과 경로만 기록하고 역색인은 읽을 때 다시 만듦
+    public void writeTo(OutputStream out) throws IOException {
+        lock.readLock().lock();
+        try {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(SNAPSHOT_VERSION);
+            data.writeInt(commits.size());
+            for (int id = 0; id < commits.size(); id++) {
+                CommitSummary commit = commits.get(id);
+                writeString(data, commit.sha());
+                writeString(data, commit.authorName());
+                writeString(data, commit.authorEmail());
+                data.writeBoolean(commit.commitDate() != null);
+                if (commit.commitDate() != null) {
+                    data.writeLong(commit.commitDate().toEpochMilli());
+                }
+                writeString(data, commit.message());
+                data.writeInt(pathsByCommit.get(id).size());
+                for (String path : pathsByCommit.get(id)) {
+                    writeString(data, path);
+                }
+            }
+            data.flush();
+            dirty = false;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static CommitSearchIndex readFrom(InputStream in) throws IOException {
+        return readFrom(in, Integer.MAX_VALUE);
+    }
+
+    // 제한보다 많은 커밋이 저장된 스냅샷은 읽으면서 오래된 커밋을 지움
+    public static CommitSearchIndex readFrom(InputStream in, int maxCommits) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int version = data.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("Unknown search index snapshot version: " + version);
+        }
+        CommitSearchIndex index = new CommitSearchIndex(maxCommits);
+        int count = data.readInt();
+        for (int i = 0; i < count; i++) {
+            String sha = readString(data);
+            String authorName = readString(data);
+            String authorEmail = readString(data);
+            Instant commitDate = data.readBoolean() ? Instant.ofEpochMilli(data.readLong()) : null;
+            String message = readString(data);
+            int pathCount = data.readInt();
+            List<String> changedPaths = new ArrayList<>(pathCount);
+            for (int j = 0; j < pathCount; j++) {
+                changedPaths.add(readString(data));
+            }
+            index.add(new CommitSummary(sha, authorName, authorEmail, commitDate, message), changedPaths);
+        }
+        index.dirty = false;
+        return index;
+    }
+
+    // 소문자로 바꾸고 글자/숫자가 아닌 문자로 나눔 (한글 등도 글자로 취급)
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i < lower.length(); i++) {
+            if (Character.isLetterOrDigit(lower.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            tokens.add(lower.substring(start));
+        }
+        return tokens;
+    }
+
+    private static void post(TreeMap<String, BitSet> index, String term, int id) {
+        index.computeIfAbsent(term, key -> new BitSet()).set(id);
+    }
+
+    private static BitSet prefixMatches(TreeMap<String, BitSet> index, String prefix) {
+        BitSet union = new BitSet();
+        for (BitSet ids : index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            union.or(ids);
+        }
+        return union;
+    }
+
+    private static BitSet intersect(BitSet matches, BitSet ids) {
+        if (matches == null) {
+            return ids;
+        }
+        matches.and(ids);
+        return matches;
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        if (value == null) {
+            data.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(bytes.length);
+        data.write(bytes);
+    }
+
+    private static String readString(DataInputStream data) throws IOException {
+        int length = data.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        data.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,39 @@
+package com.git_rest_api.github.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 커밋 검색어. 공백으로 구분한 조건을 모두 만족하는 커밋을 찾는다.
+ * - author:값  작성자 이름/이메일 단어의 접두어
+ * - path:값    변경된 파일 경로의 접두어 (예: path:src/)
+ * - 그 외      커밋 메시지 단어의 접두어
+ */
+public record CommitSearchQuery(List<String> messageTerms, List<String> authorTerms, List<String> pathPrefixes) {
+
+    public static CommitSearchQuery parse(String query) {
+        List<String> messageTerms = new ArrayList<>();
+        List<String> authorTerms = new ArrayList<>();
+        List<String> pathPrefixes = new ArrayList<>();
+
+        for (String part : query.trim().split("\\s+")) {
+            if (part.startsWith("author:")) {
+                authorTerms.addAll(CommitSearchIndex.tokenize(part.substring("author:".length())));
+            } else if (part.startsWith("path:")) {
+                String path = part.substring("path:".length());
+                // 경로는 저장소 루트 기준이므로 앞의 / 는 무시
+                path = path.startsWith("/") ? path.substring(1) : path;
+                if (!path.isEmpty()) {
+                    pathPrefixes.add(path);
+                }
+            } else {
+                messageTerms.addAll(CommitSearchIndex.tokenize(part));
+            }
+        }
+        return new CommitSearchQuery(messageTerms, authorTerms, pathPrefixes);
+    }
+
+    public boolean isEmpty() {
+        return messageTerms.isEmpty() && authorTerms.isEmpty() && pathPrefixes.isEmpty();
+    }
+}
@@ -0,0 +1,220 @@
+package com.git_rest_api.github.search;
+
+import com.git_rest_api.github.dto.ChangedFile;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitSummary;
+import com.git_rest_api.github.webhook.PushEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 저장소별 커밋 검색 색인을 관리한다.
+ * 커밋 목록/상세/push 이벤트로 이미 받은 데이터만 색인하므로 검색할 때 GitHub을 호출하지 않는다.
+ * snapshot-dir을 설정하면 변경된 색인을 주기적으로(그리고 종료 시) 파일로 저장하고, 처음 조회할 때 불러온다.
+ * 메모리에는 최대 max-repos 개 저장소의 색인을 두고(밀려난 색인은 스냅샷을 저장한 뒤 버림), 저장소마다 최근 max-commits 개까지 색인한다.
+ */
+@Service
+public class CommitSearchService {
+
+    private static final Pattern SAFE_NAME = Pattern.compile("[A-Za-z0-9_-][A-Za-z0-9._-]*");
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Path snapshotDir;
+    private final int maxCommits;
+    private final Cache<String, CommitSearchIndex> indexes;
+    private final ScheduledExecutorService snapshotExecutor;
+
+    public CommitSearchService(MeterRegistry meterRegistry,
+                               @Value("${search.enabled:true}") boolean enabled,
+                               @Value("${search.snapshot-dir:}") String snapshotDir,
+                               @Value("${search.snapshot-interval:5m}") Duration snapshotInterval,
+                               @Value("${search.max-repos:200}") int maxRepos,
+                               @Value("${search.max-commits:50000}") int maxCommits) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.snapshotDir = snapshotDir.isEmpty() ? null : Path.of(snapshotDir);
+        this.maxCommits = maxCommits;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maxRepos)
+                .<String, CommitSearchIndex>removalListener((name, index, cause) -> {
+                    if (cause.wasEvicted() && index != null) {
+                        meterRegistry.counter("search.evicted_repos").increment();
+                        saveSnapshot(name, index);
+                    }
+                })
+                .build();
+
+        if (enabled && this.snapshotDir != null) {
+            this.snapshotExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "search-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotExecutor.scheduleWithFixedDelay(this::saveSnapshots,
+                    snapshotInterval.toMillis(), snapshotInterval.toMillis(), TimeUnit.MILLISECONDS);
+        } else {
+            this.snapshotExecutor = null;
+        }
+
+        Gauge.builder("search.indexed_commits", indexes,
+                        cache -> cache.asMap().values().stream().mapToInt(CommitSearchIndex::size).sum())
+                .register(meterRegistry);
+    }
+
+    public void indexPage(CommitPage page) {
+        if (!enabled) {
+            return;
+        }
+        CommitSearchIndex index = index(page.owner(), page.repoName());
+        for (CommitSummary commit : page.commits()) {
+            index.add(commit, List.of());
+        }
+    }
+
+    /**
+     * 상세에는 변경 파일 목록이 있으므로 경로 검색 대상이 된다.
+     * 상세는 어느 브랜치의 커밋이든 조회할 수 있으므로 목록(기본 브랜치)이나 push로 이미 색인된 커밋에만 경로를 더한다.
+     */
+    public void indexDetail(CommitDetail detail) {
+        if (!enabled) {
+            return;
+        }
+        CommitSearchIndex index = find(detail.owner(), detail.repo());
+        if (index != null) {
+            List<String> paths = detail.changedFiles().stream().map(ChangedFile::fileName).toList();
+            index.addPaths(detail.commit().sha(), paths);
+        }
+    }
+
+    public void indexPush(PushEvent event) {
+        if (!enabled || event.owner() == null || event.repo() == null) {
+            return;
+        }
+        CommitSearchIndex index = index(event.owner(), event.repo());
+        for (PushEvent.PushedCommit commit : event.commits()) {
+            index.add(new CommitSummary(commit.id(), commit.authorName(), commit.authorEmail(),
+                    commit.timestamp(), commit.message()), List.of());
+        }
+    }
+
+    public CommitSearchIndex.SearchResult search(String owner, String repo, CommitSearchQuery query, int limit) {
+        CommitSearchIndex index = find(owner, repo);
+        if (index == null) {
+            return new CommitSearchIndex.SearchResult(List.of(), 0);
+        }
+        long start = System.nanoTime();
+        CommitSearchIndex.SearchResult result = index.search(query, limit);
+        meterRegistry.timer("search.queries").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    public int indexedCommits(String owner, String repo) {
+        CommitSearchIndex index = find(owner, repo);
+        return index != null ? index.size() : 0;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 색인할 때는 없으면 새로 만듦 (GitHub 저장소 이름은 대소문자를 구분하지 않음)
+    private CommitSearchIndex index(String owner, String repo) {
+        return indexes.get(indexName(owner, repo), key -> {
+            CommitSearchIndex loaded = loadSnapshot(owner, repo);
+            return loaded != null ? loaded : new CommitSearchIndex(maxCommits);
+        });
+    }
+
+    // 검색할 때는 색인된 적 없는 저장소에 빈 색인을 만들지 않음
+    private CommitSearchIndex find(String owner, String repo) {
+        return indexes.get(indexName(owner, repo), key -> loadSnapshot(owner, repo));
+    }
+
+    private static String indexName(String owner, String repo) {
+        return (owner + "/" + repo).toLowerCase(Locale.ROOT);
+    }
+
+    private CommitSearchIndex loadSnapshot(String owner, String repo) {
+        Path file = snapshotFile(owner, repo);
+        if (file == null || !Files.exists(file)) {
+            return null;
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return CommitSearchIndex.readFrom(in, maxCommits);
+        } catch (IOException e) {
+            // 손상된 스냅샷은 버리고 새로 색인
+            meterRegistry.counter("search.snapshot_errors").increment();
+            return null;
+        }
+    }
+
+    private void saveSnapshots() {
+        indexes.asMap().forEach(this::saveSnapshot);
+    }
+
+    private void saveSnapshot(String name, CommitSearchIndex index) {
+        if (!index.isDirty()) {
+            return;
+        }
+        String[] parts = name.split("/", 2);
+        Path file = snapshotFile(parts[0], parts[1]);
+        if (file == null) {
+            return;
+        }
+        try {
+            saveSnapshot(file, index);
+        } catch (IOException | UncheckedIOException e) {
+            meterRegistry.counter("search.snapshot_errors").increment();
+        }
+    }
+
+    private void saveSnapshot(Path file, CommitSearchIndex index) throws IOException {
+        Files.createDirectories(file.getParent());
+        // 읽는 쪽에서 쓰다 만 파일을 보지 않도록 임시 파일에 쓴 뒤 이동
+        Path temp = Files.createTempFile(file.getParent(), "search", ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+            index.writeTo(out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path snapshotFile(String owner, String repo) {
+        // 경로로 쓸 수 없는 이름(.. 등)은 저장하지 않음
+        if (snapshotDir == null || !SAFE_NAME.matcher(owner).matches() || !SAFE_NAME.matcher(repo).matches()) {
+            return null;
+        }
+        return snapshotDir.resolve(owner.toLowerCase(Locale.ROOT)).resolve(repo.toLowerCase(Locale.ROOT) + ".idx.gz");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (snapshotExecutor != null) {
+            snapshotExecutor.shutdownNow();
+            saveSnapshots();
+        }
+    }
+}
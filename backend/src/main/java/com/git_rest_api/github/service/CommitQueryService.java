@@ -0,0 +1,231 @@
+package com.git_rest_api.github.service;
+
+import com.git_rest_api.github.dto.ChangedFile;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitStats;
+import com.git_rest_api.github.dto.CommitSummary;
+import com.git_rest_api.github.mirror.GitMirrorService;
+import com.git_rest_api.github.search.CommitSearchService;
+import com.git_rest_api.redis.CacheResult;
+import com.git_rest_api.redis.CacheService;
+import com.git_rest_api.store.ImmutableObjectStore;
+import lombok.RequiredArgsConstructor;
+import org.kohsuke.github.GHCommit;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 캐시를 거쳐 커밋 목록/상세를 조회한다. 컨트롤러와 프리페처가 같은 캐시 키와 로더를 사용한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class CommitQueryService {
+
+    private final GithubService githubService;
+    private final CacheService cacheService;
+    private final ImmutableObjectStore immutableObjectStore;
+    private final GitMirrorService gitMirrorService;
+    private final CommitSearchService commitSearchService;
+
+    @FunctionalInterface
+    public interface CommitSink {
+        void accept(CommitSummary commit) throws IOException;
+    }
+
+    // 커서가 있으면 페이지 번호 대신 커서 기준으로 캐시
+    public static String commitPageKey(String owner, String repo, int page, int perPage, String cursor) {
+        return cursor != null
+                ? "commits:" + owner + ":" + repo + ":cursor:" + cursor + ":" + perPage
+                : "commits:" + owner + ":" + repo + ":" + page + ":" + perPage;
+    }
+
+    public static String commitDetailKey(String owner, String repo, String sha) {
+        return "commit_detail:" + owner + ":" + repo + ":" + sha;
+    }
+
+    public CommitPage getCommitPage(String owner, String repo, int page, int perPage, String cursor)
+            throws IOException {
+        return lookupCommitPage(owner, repo, page, perPage, cursor).value();
+    }
+
+    // 캐시 적중/stale 여부까지 필요한 경우 (stale이면 백그라운드 갱신이 시작됨)
+    public CacheResult<CommitPage> lookupCommitPage(String owner, String repo, int page, int perPage, String cursor)
+            throws IOException {
+        // 같은 키의 동시 캐시 미스는 GitHub 호출 한 번으로 합쳐짐
+        CacheResult<CommitPage> result = cacheService.lookup(commitPageKey(owner, repo, page, perPage, cursor),
+                CommitPage.class, () -> loadCommitPage(owner, repo, page, perPage, cursor));
+        // 캐시에서 읽은 페이지도 색인 (이미 색인된 커밋은 건너뜀)
+        commitSearchService.indexPage(result.value());
+        return result;
+    }
+
+    /**
+     * 커밋 목록을 하나씩 sink로 넘긴다. 캐시에 없으면 GitHub에서 받는 대로 넘기고 끝난 뒤 페이지 전체를 캐시에 저장한다.
+     * 첫 커밋을 빨리 내보내는 것이 목적이므로 동시 캐시 미스를 합치지 않는다.
+     */
+    public CacheResult<CommitPage> streamCommitPage(String owner, String repo, int page, int perPage, String cursor,
+                                                    CommitSink sink) throws IOException {
+        String key = commitPageKey(owner, repo, page, perPage, cursor);
+        if (cacheService.isCached(key)) {
+            CacheResult<CommitPage> result = lookupCommitPage(owner, repo, page, perPage, cursor);
+            for (CommitSummary commit : result.value().commits()) {
+                sink.accept(commit);
+            }
+            return result;
+        }
+
+        CommitPage loaded = loadCommitPage(owner, repo, page, perPage, cursor, sink);
+        cacheService.put(key, loaded);
+        commitSearchService.indexPage(loaded);
+        return new CacheResult<>(loaded, false, false);
+    }
+
+    // 캐시를 거치지 않고 읽은 첫 페이지 (soft TTL 안의 오래된 목록 대신 최신 HEAD가 필요할 때, 읽은 값으로 캐시도 갱신)
+    public CommitPage refreshCommitPage(String owner, String repo, int perPage) throws IOException {
+        CommitPage loaded = loadCommitPage(owner, repo, 1, perPage, null);
+        cacheService.put(commitPageKey(owner, repo, 1, perPage, null), loaded);
+        commitSearchService.indexPage(loaded);
+        return loaded;
+    }
+
+    public CommitDetail getCommitDetail(String owner, String repo, String sha) throws IOException {
+        // 커밋 내용은 바뀌지 않으므로 만료 없이 보관 (동시 미스는 GitHub 호출 한 번으로 합쳐짐)
+        CommitDetail detail = immutableObjectStore.getOrLoad(commitDetailKey(owner, repo, sha), CommitDetail.class,
+                () -> loadCommitDetail(owner, repo, sha));
+        commitSearchService.indexDetail(detail);
+        return detail;
+    }
+
+    /**
+     * 여러 커밋 상세를 한 번에 조회한다. 캐시는 MGET 한 번으로 읽고, 없는 커밋만 가상 스레드에서 동시에 가져온다.
+     * 가져오지 못한 커밋은 결과에서 빠지고 errors에 SHA별 오류 메시지가 담긴다.
+     */
+    public Map<String, CommitDetail> getCommitDetails(String owner, String repo, List<String> shas,
+                                                      Map<String, String> errors) throws IOException {
+        List<String> keys = new ArrayList<>();
+        for (String sha : shas) {
+            keys.add(commitDetailKey(owner, repo, sha));
+        }
+        Map<String, Object> stored = immutableObjectStore.getAll(keys);
+
+        Map<String, CommitDetail> details = new LinkedHashMap<>();
+        Map<String, Future<CommitDetail>> loading = new LinkedHashMap<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < shas.size(); i++) {
+                String sha = shas.get(i);
+                if (stored.get(keys.get(i)) instanceof CommitDetail detail) {
+                    commitSearchService.indexDetail(detail);
+                    details.put(sha, detail);
+                } else {
+                    // 동시 호출 수는 GithubCallScheduler가 제한
+                    loading.put(sha, executor.submit(() -> getCommitDetail(owner, repo, sha)));
+                }
+            }
+
+            for (Map.Entry<String, Future<CommitDetail>> entry : loading.entrySet()) {
+                try {
+                    details.put(entry.getKey(), entry.getValue().get());
+                } catch (ExecutionException e) {
+                    errors.put(entry.getKey(), e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while loading commit details", e);
+                }
+            }
+        }
+
+        // 요청한 순서대로 반환
+        Map<String, CommitDetail> ordered = new LinkedHashMap<>();
+        for (String sha : shas) {
+            if (details.containsKey(sha)) {
+                ordered.put(sha, details.get(sha));
+            }
+        }
+        return ordered;
+    }
+
+    /**
+     * 통계 집계용 커밋 정보. 수천 개를 훑으므로 만료가 없는 ImmutableObjectStore에 상세를 남기지 않고,
+     * patch 없이 파일별 줄 수와 부모 수만 가져온다.
+     */
+    public CommitStats getCommitStats(String owner, String repo, String sha) throws IOException {
+        if (gitMirrorService.handles(owner, repo)) {
+            return gitMirrorService.getCommitStats(owner, repo, sha);
+        }
+
+        GHCommit commit = githubService.getCommitDetail(owner, repo, sha);
+        List<ChangedFile> changedFiles = new ArrayList<>();
+        for (GHCommit.File file : commit.getFiles()) {
+            changedFiles.add(new ChangedFile(file.getFileName(), null,
+                    file.getLinesAdded(), file.getLinesDeleted(), file.getStatus()));
+        }
+        return new CommitStats(summaryOf(commit), commit.getParentSHA1s().size(), changedFiles);
+    }
+
+    private CommitPage loadCommitPage(String owner, String repo, int page, int perPage, String cursor)
+            throws IOException {
+        return loadCommitPage(owner, repo, page, perPage, cursor, null);
+    }
+
+    // sink가 있으면 GitHub 응답에서 커밋을 읽는 대로 넘김 (스트리밍 응답용)
+    private CommitPage loadCommitPage(String owner, String repo, int page, int perPage, String cursor,
+                                      CommitSink sink) throws IOException {
+        // mirror로 설정된 저장소는 GitHub API 대신 로컬 mirror에서 계산
+        if (gitMirrorService.handles(owner, repo)) {
+            CommitPage loaded = gitMirrorService.listCommits(owner, repo, page, perPage, cursor);
+            if (sink != null) {
+                for (CommitSummary commit : loaded.commits()) {
+                    sink.accept(commit);
+                }
+            }
+            return loaded;
+        }
+
+        GithubService.CommitListener listener = sink == null ? null : commit -> sink.accept(summaryOf(commit));
+        GithubService.CommitListing listing = cursor != null
+                ? githubService.getCommitsAfter(owner, repo, cursor, perPage, listener)
+                : githubService.getRecentCommits(owner, repo, page, perPage, listener);
+        List<CommitSummary> summaries = new ArrayList<>();
+        for (GHCommit commit : listing.commits()) {
+            summaries.add(summaryOf(commit));
+        }
+
+        // 다음 페이지 커서는 조회한 HEAD에 고정된 위치라 GitHub 호출 한 번으로 같은 목록을 이어서 조회 가능
+        return new CommitPage(summaries, repo, owner, page, perPage, cursor, listing.nextCursor());
+    }
+
+    private CommitDetail loadCommitDetail(String owner, String repo, String sha) throws IOException {
+        if (gitMirrorService.handles(owner, repo)) {
+            return gitMirrorService.getCommitDetail(owner, repo, sha);
+        }
+
+        return detailOf(githubService.getCommitDetail(owner, repo, sha), owner, repo);
+    }
+
+    static CommitDetail detailOf(GHCommit commit, String owner, String repo) throws IOException {
+        List<ChangedFile> changedFiles = new ArrayList<>();
+        for (GHCommit.File file : commit.getFiles()) {
+            changedFiles.add(new ChangedFile(file.getFileName(), file.getPatch(),
+                    file.getLinesAdded(), file.getLinesDeleted(), file.getStatus()));
+        }
+
+        return new CommitDetail(summaryOf(commit), changedFiles, owner, repo);
+    }
+
+    // getAuthor()는 GitHub 사용자 정보를 커밋마다 추가 조회하므로 커밋에 포함된 작성자 정보 사용
+    static CommitSummary summaryOf(GHCommit commit) throws IOException {
+        GHCommit.ShortInfo info = commit.getCommitShortInfo();
+        return new CommitSummary(commit.getSHA1(), info.getAuthor().getName(), info.getAuthor().getEmail(),
+                commit.getCommitDate().toInstant(), info.getMessage());
+    }
+}
@@ -0,0 +1,51 @@
+package com.git_rest_api.github.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.connector.GitHubConnector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * 사용자 토큰별 GitHub 클라이언트 캐시.
+ * 모든 클라이언트가 공용 커넥터(연결 풀)를 사용하고, 클라이언트가 보관하는 로그인 사용자 정보도 재사용된다.
+ */
+@Component
+public class GithubClientFactory {
+
+    private final GitHubConnector githubConnector;
+    private final String apiUrl;
+    private final Cache<String, GitHub> clients;
+
+    public GithubClientFactory(GitHubConnector githubConnector,
+                               @Value("${github.api-url:https://api.github.com}") String apiUrl,
+                               @Value("${github.user-clients.max-size:1000}") long maxSize,
+                               @Value("${github.user-clients.expire-after-access:30m}") Duration expireAfterAccess) {
+        this.githubConnector = githubConnector;
+        this.apiUrl = apiUrl;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    public GitHub forToken(String accessToken) throws IOException {
+        try {
+            return clients.get(accessToken, token -> {
+                try {
+                    return new GitHubBuilder().withEndpoint(apiUrl).withOAuthToken(token).withConnector(githubConnector).build();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
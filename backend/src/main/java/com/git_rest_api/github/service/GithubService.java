@@ -1,93 +1,494 @@
 package com.git_rest_api.github.service;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.git_rest_api.github.diff.DiffIndex;
+import com.git_rest_api.github.diff.FileDiff;
+import com.git_rest_api.github.diff.UnifiedDiffParser;
+import com.git_rest_api.github.dto.CommitCursor;
+import com.git_rest_api.github.mirror.GitMirrorService;
+import com.git_rest_api.github.ratelimit.GithubCallScheduler;
+import com.git_rest_api.redis.CacheService;
+import com.git_rest_api.store.ImmutableObjectStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.kohsuke.github.GHCommit;
-import org.kohsuke.github.GHRepository;
 import org.kohsuke.github.GitHub;
-import org.kohsuke.github.PagedIterable;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class GithubService {
+    // GitHub API가 허용하는 최대 per_page 값
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String NO_CHANGES = "No changes found for this file.";
+    private static final String DIFF_TOO_LARGE = "Diff is too large to display.";
+    // 인덱스를 Redis에 나눠서 기록하는 단위 (문자 수)
+    private static final long INDEX_BATCH_CHARS = 1024 * 1024;
+    // 동시에 스트리밍으로 조회하는 커밋 목록 수
+    private static final int LIST_THREADS = 16;
+
     private final GitHub github;
-    private final RestTemplate restTemplate;
+    private final OkHttpClient githubTransport;
+    private final OkHttpClient githubHttpClient;
+    private final CacheService cacheService;
+    private final ImmutableObjectStore immutableObjectStore;
+    private final GithubCallScheduler callScheduler;
+    private final GitMirrorService gitMirrorService;
+    private final MeterRegistry meterRegistry;
     private final String githubToken;
+    private final String apiUrl;
+    private final long diffMaxBytes;
+    private final UnifiedDiffParser diffParser;
+    // 스트리밍 응답의 목록 조회 스레드 (GitHub 응답을 읽어 큐에 넣는 쪽)
+    private final ThreadPoolExecutor listExecutor;
 
-    public GithubService(GitHub github, RestTemplate restTemplate, @Value("${github.token}") String githubToken) {
+    public GithubService(GitHub github, OkHttpClient githubTransport, OkHttpClient githubHttpClient,
+                         CacheService cacheService, ImmutableObjectStore immutableObjectStore,
+                         GithubCallScheduler callScheduler, GitMirrorService gitMirrorService,
+                         MeterRegistry meterRegistry,
+                         @Value("${github.token}") String githubToken,
+                         @Value("${github.api-url:https://api.github.com}") String apiUrl,
+                         @Value("${github.diff.max-bytes:10485760}") long diffMaxBytes) {
         this.github = github;
-        this.restTemplate = restTemplate;
+        this.githubTransport = githubTransport;
+        this.githubHttpClient = githubHttpClient;
+        this.cacheService = cacheService;
+        this.immutableObjectStore = immutableObjectStore;
+        this.callScheduler = callScheduler;
+        this.gitMirrorService = gitMirrorService;
+        this.meterRegistry = meterRegistry;
         this.githubToken = githubToken;
+        this.apiUrl = apiUrl;
+        this.diffMaxBytes = diffMaxBytes;
+        this.diffParser = new UnifiedDiffParser(diffMaxBytes);
+        // 스레드가 모자라면 호출한 스레드에서 조회 (한 페이지를 모두 읽은 뒤 넘김)
+        this.listExecutor = new ThreadPoolExecutor(0, LIST_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "github-commit-list");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
     }
 
-    public List<GHCommit> getRecentCommits(String owner, String repoName, int page, int perPage) {
-        try {
-            GHRepository repository = github.getRepository(owner + "/" + repoName);
+    // 커밋 목록 응답을 읽는 대로 요청 페이지의 커밋을 넘겨받는 콜백 (스트리밍 응답용)
+    @FunctionalInterface
+    public interface CommitListener {
+        void onCommit(GHCommit commit) throws IOException;
+    }
+
+    // 한 번의 목록 조회 결과 (nextCursor는 페이지가 꽉 찼을 때만, 조회한 HEAD 기준 다음 위치)
+    public record CommitListing(List<GHCommit> commits, String nextCursor) {
+    }
+
+    @FunctionalInterface
+    private interface ListingCall {
+        CommitListing call(CommitListener listener) throws IOException;
+    }
 
-            // 효율적인 페이지네이션 처리
-            PagedIterable<GHCommit> pagedCommits = repository.listCommits().withPageSize(perPage);
-            List<GHCommit> commits = new ArrayList<>();
+    // 목록 조회 스레드가 큐에 마지막으로 넣는 값 (조회 결과 또는 예외)
+    private record ListingEnd(CommitListing listing, Throwable error) {
+    }
 
-            // 페이지네이션 처리 개선
-            int i = 0;
-            for (GHCommit commit : pagedCommits) {
-                if (i >= (page-1)*perPage && i < page*perPage) {
+    // 번호 페이지는 GitHub의 page/per_page로 바로 조회 (앞 페이지를 순회하지 않음), listener가 없으면 null
+    public CommitListing getRecentCommits(String owner, String repoName, int page, int perPage,
+                                          CommitListener listener) {
+        checkPageSize(perPage);
+        try {
+            return list(perPage, listener, sink -> callScheduler.call(githubToken, "list_commits", () -> {
+                // 다음 페이지 커서를 HEAD에 고정하기 위해 2페이지 이후는 HEAD를 먼저 확인 (조건부 요청이라 보통 304)
+                String head = page > 1 ? firstSha(listCommits(owner, repoName, null, 1, 1)) : null;
+                List<GHCommit> commits = new ArrayList<>();
+                listCommits(owner, repoName, head, page, perPage, commit -> {
                     commits.add(commit);
+                    sink.onCommit(commit);
+                });
+                if (page == 1) {
+                    head = firstSha(commits);
                 }
-                if (i >= page*perPage) break;
-                i++;
-            }
+                return listing(commits, head, (page - 1) * perPage, perPage);
+            }));
+        } catch (IOException e) {
+            throw new RuntimeException("Error while fetching GitHub API", e);
+        }
+    }
 
-            return commits;
+    // 클라이언트가 넘긴 커서(HEAD와 위치) 다음부터 한 페이지 조회 (위치가 페이지 경계가 아니면 두 페이지에서 잘라냄)
+    public CommitListing getCommitsAfter(String owner, String repoName, String cursor, int perPage,
+                                         CommitListener listener) {
+        checkPageSize(perPage);
+        CommitCursor from = CommitCursor.parse(cursor);
+        try {
+            return list(perPage, listener, sink -> callScheduler.call(githubToken, "list_commits", () -> {
+                int firstPage = from.offset() / perPage + 1;
+                int skip = from.offset() % perPage;
+                List<GHCommit> commits = new ArrayList<>();
+                AtomicInteger seen = new AtomicInteger();
+                int fetched = listCommits(owner, repoName, from.head(), firstPage, perPage, commit -> {
+                    if (seen.getAndIncrement() >= skip) {
+                        commits.add(commit);
+                        sink.onCommit(commit);
+                    }
+                });
+                if (skip > 0 && fetched == perPage) {
+                    listCommits(owner, repoName, from.head(), firstPage + 1, perPage, commit -> {
+                        if (commits.size() < perPage) {
+                            commits.add(commit);
+                            sink.onCommit(commit);
+                        }
+                    });
+                }
+                return listing(commits, from.head(), from.offset(), perPage);
+            }));
         } catch (IOException e) {
             throw new RuntimeException("Error while fetching GitHub API", e);
         }
     }
 
+    /**
+     * listener가 있으면 목록 조회를 별도 스레드에서 실행하고, 응답에서 파싱한 커밋을 큐를 거쳐 호출한 스레드의 listener에 넘긴다.
+     * 큐는 한 페이지와 끝 표시를 모두 담는 크기라 클라이언트가 느려도 조회 쪽은 기다리지 않고 GitHub 호출 슬롯을 바로 반납한다.
+     */
+    private CommitListing list(int perPage, CommitListener listener, ListingCall call) throws IOException {
+        if (listener == null) {
+            return call.call(commit -> {
+            });
+        }
+
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(perPage + 1);
+        // 우선순위는 스레드별이므로 조회 스레드에서도 호출한 쪽의 우선순위로 실행
+        GithubCallScheduler.Priority priority = callScheduler.currentPriority();
+        listExecutor.execute(() -> {
+            ListingEnd end;
+            try {
+                CommitListing listing = priority == GithubCallScheduler.Priority.BACKGROUND
+                        ? callScheduler.callInBackground(() -> call.call(queue::add))
+                        : call.call(queue::add);
+                end = new ListingEnd(listing, null);
+            } catch (Throwable e) {
+                end = new ListingEnd(null, e);
+            }
+            queue.add(end);
+        });
+
+        try {
+            while (true) {
+                Object item = queue.take();
+                if (item instanceof ListingEnd end) {
+                    if (end.error() == null) {
+                        return end.listing();
+                    }
+                    if (end.error() instanceof IOException e) {
+                        throw e;
+                    }
+                    if (end.error() instanceof RuntimeException e) {
+                        throw e;
+                    }
+                    if (end.error() instanceof Error e) {
+                        throw e;
+                    }
+                    throw new IOException(end.error());
+                }
+                listener.onCommit((GHCommit) item);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while listing commits", e);
+        }
+    }
+
+    // GitHub은 더 큰 per_page를 100으로 줄이므로 page 번호로 계산한 위치가 어긋나지 않도록 거부
+    private static void checkPageSize(int perPage) {
+        if (perPage < 1 || perPage > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("perPage must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    private static CommitListing listing(List<GHCommit> commits, String head, int offset, int perPage) {
+        String nextCursor = head != null && commits.size() == perPage
+                ? new CommitCursor(head, offset).advance(perPage).encode() : null;
+        return new CommitListing(commits, nextCursor);
+    }
+
+    private static String firstSha(List<GHCommit> commits) {
+        return commits.isEmpty() ? null : commits.get(0).getSHA1();
+    }
+
+    private List<GHCommit> listCommits(String owner, String repoName, String head, int page, int perPage)
+            throws IOException {
+        List<GHCommit> commits = new ArrayList<>();
+        listCommits(owner, repoName, head, page, perPage, commits::add);
+        return commits;
+    }
+
+    // GET /repos/{owner}/{repo}/commits (head가 없으면 기본 브랜치), ETag 조건부 요청이 적용되는 클라이언트 사용
+    // 응답 배열을 한 번에 읽지 않고 커밋을 하나씩 파싱해서 넘기며, 읽은 커밋 수를 반환
+    private int listCommits(String owner, String repoName, String head, int page, int perPage,
+                            CommitListener listener) throws IOException {
+        HttpUrl.Builder url = HttpUrl.get(String.format("%s/repos/%s/%s/commits", apiUrl, owner, repoName))
+                .newBuilder()
+                .addQueryParameter("per_page", String.valueOf(perPage))
+                .addQueryParameter("page", String.valueOf(page));
+        if (head != null) {
+            url.addQueryParameter("sha", head);
+        }
+        Request request = new Request.Builder()
+                .url(url.build())
+                .header("Accept", "application/vnd.github+json")
+                .header("Authorization", "Bearer " + githubToken)
+                .build();
+
+        try (Response response = githubHttpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("GitHub commit list request failed with status " + response.code()
+                        + ": " + owner + "/" + repoName);
+            }
+            // github-api가 응답을 읽을 때와 같은 reader (GHCommit이 클라이언트를 참조하도록), 최상위 배열의 원소를 차례로 읽음
+            int count = 0;
+            try (MappingIterator<GHCommit> commits = GitHub.getMappingObjectReader(github).forType(GHCommit.class)
+                    .readValues(body.byteStream())) {
+                while (commits.hasNextValue()) {
+                    listener.onCommit(commits.nextValue());
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
     // 나머지 메서드는 그대로 유지
     public GHCommit getCommitDetail(String owner, String repoName, String sha) throws IOException {
-        GHRepository repository = github.getRepository(owner + "/" + repoName);
-        return repository.getCommit(sha);
+        return callScheduler.call(githubToken, "get_commit",
+                () -> github.getRepository(owner + "/" + repoName).getCommit(sha));
+    }
+
+    // 커밋별 diff 인덱스: 파일마다 "file_diff:{owner}:{repo}:{sha}:{path}", 인덱싱 완료 표시(DiffIndex)는 "file_diff:{owner}:{repo}:{sha}"
+    public static String fileDiffKey(String owner, String repoName, String sha, String filePath) {
+        return diffIndexKey(owner, repoName, sha) + ":" + filePath;
+    }
+
+    private static String diffIndexKey(String owner, String repoName, String sha) {
+        return "file_diff:" + owner + ":" + repoName + ":" + sha;
+    }
+
+    // 파일 diff 대신 반환하는 안내 문구인지 (diff 크기 제한 설정 등에 따라 바뀔 수 있어 클라이언트가 오래 보관하면 안 됨)
+    public static boolean isPlaceholder(String diff) {
+        return NO_CHANGES.equals(diff) || DIFF_TOO_LARGE.equals(diff);
     }
 
     public String getFileDiff(String owner, String repoName, String sha, String filePath) throws IOException {
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Accept", "application/vnd.github.v3.diff");
-        headers.set("Authorization", "Bearer " + githubToken);
+        String fileKey = fileDiffKey(owner, repoName, sha, filePath);
+        String indexed = fileDiffText(immutableObjectStore.get(fileKey));
+        if (indexed != null) {
+            return indexed;
+        }
+        DiffIndex index = diffIndex(owner, repoName, sha, Map.of(filePath, fileKey));
+        indexed = fileDiffText(immutableObjectStore.peek(fileKey));
+        if (indexed != null) {
+            return indexed;
+        }
+        return index.truncated() ? DIFF_TOO_LARGE : NO_CHANGES;
+    }
+
+    // 여러 파일의 diff를 한 번에 조회: 파일 키를 MGET 한 번으로 읽고, 없는 파일이 있을 때만 인덱스를 확인해 커밋 diff를 한 번만 인덱싱
+    public Map<String, String> getFileDiffs(String owner, String repoName, String sha, List<String> filePaths)
+            throws IOException {
+        List<String> keys = new ArrayList<>();
+        for (String filePath : filePaths) {
+            keys.add(fileDiffKey(owner, repoName, sha, filePath));
+        }
+        Map<String, Object> stored = immutableObjectStore.getAll(keys);
+
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (int i = 0; i < filePaths.size(); i++) {
+            if (!stored.containsKey(keys.get(i))) {
+                missing.put(filePaths.get(i), keys.get(i));
+            }
+        }
+        String notFound = NO_CHANGES;
+        if (!missing.isEmpty()) {
+            DiffIndex index = diffIndex(owner, repoName, sha, missing);
+            for (String key : missing.values()) {
+                Object indexed = immutableObjectStore.peek(key);
+                if (indexed != null) {
+                    stored.put(key, indexed);
+                }
+            }
+            notFound = index.truncated() ? DIFF_TOO_LARGE : NO_CHANGES;
+        }
+
+        Map<String, String> diffs = new LinkedHashMap<>();
+        for (int i = 0; i < filePaths.size(); i++) {
+            String indexed = fileDiffText(stored.get(keys.get(i)));
+            diffs.put(filePaths.get(i), indexed != null ? indexed : notFound);
+        }
+        return diffs;
+    }
+
+    /**
+     * 파일 키가 없는 경로(path -> 파일 키)를 설명하는 인덱스를 반환한다.
+     * 인덱스가 없거나(이전 형식의 표시 값 포함), 인덱스에는 있는 파일의 diff가 밀려났으면 커밋 diff를 다시 인덱싱한다.
+     * 같은 커밋의 파일들을 동시에 요청해도 전체 diff 다운로드는 한 번만 수행한다.
+     */
+    private DiffIndex diffIndex(String owner, String repoName, String sha, Map<String, String> missing)
+            throws IOException {
+        String indexKey = diffIndexKey(owner, repoName, sha);
+        DiffIndex index = usableIndex(indexKey, missing);
+        if (index != null) {
+            return index;
+        }
+        return cacheService.singleFlight(indexKey, () -> indexCommitDiff(owner, repoName, sha, indexKey),
+                () -> usableIndex(indexKey, missing));
+    }
+
+    private DiffIndex usableIndex(String indexKey, Map<String, String> missing) {
+        if (!(immutableObjectStore.peek(indexKey) instanceof DiffIndex index)) {
+            return null;
+        }
+        for (Map.Entry<String, String> entry : missing.entrySet()) {
+            if (index.contains(entry.getKey()) && !immutableObjectStore.contains(entry.getValue())) {
+                return null;
+            }
+        }
+        return index;
+    }
+
+    // 이전 버전은 파일 diff를 문자열로 저장했으므로 두 형식 모두 읽음
+    private static String fileDiffText(Object stored) {
+        if (stored instanceof FileDiff fileDiff) {
+            return fileDiff.text();
+        }
+        return (String) stored;
+    }
 
-        String url = String.format("https://api.github.com/repos/%s/%s/commits/%s", owner, repoName, sha);
+    // 커밋 전체 diff를 받아 파일별로 인덱싱하고 인덱스 표시 값을 반환
+    private DiffIndex indexCommitDiff(String owner, String repoName, String sha, String indexKey) throws IOException {
+        DiffIndex marker;
+        if (gitMirrorService.handles(owner, repoName)) {
+            // mirror로 설정된 저장소는 로컬 객체 DB에서 같은 형식의 diff를 만들어 인덱싱
+            try (InputStream diff = gitMirrorService.openCommitDiff(owner, repoName, sha, diffMaxBytes)) {
+                marker = indexDiffStream(diff, indexKey, "mirror");
+            }
+        } else {
+            // GitHub 클라이언트와 같은 연결 풀/rate limit 추적을 쓰도록 공용 전송 계층으로 직접 요청
+            Request request = new Request.Builder()
+                    .url(String.format("%s/repos/%s/%s/commits/%s", apiUrl, owner, repoName, sha))
+                    .header("Accept", "application/vnd.github.v3.diff")
+                    .header("Authorization", "Bearer " + githubToken)
+                    .build();
 
-        ResponseEntity<String> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                new HttpEntity<>(headers),
-                String.class
-        );
+            // 전체 diff는 커밋당 한 번만 스트림으로 읽으면서 파일별로 인덱싱 (문자열 전체를 메모리에 올리지 않음)
+            marker = callScheduler.call(githubToken, "get_commit_diff", () -> {
+                try (Response response = githubTransport.newCall(request).execute()) {
+                    ResponseBody body = response.body();
+                    if (!response.isSuccessful() || body == null) {
+                        throw new IOException("GitHub diff request failed with status " + response.code()
+                                + ": " + owner + "/" + repoName + "@" + sha);
+                    }
+                    return indexDiffStream(body.byteStream(), indexKey, "github");
+                }
+            });
+        }
+        // 파일별 diff를 모두 저장한 뒤에 완료 표시를 남김
+        immutableObjectStore.put(indexKey, marker);
 
-        String fullDiff = response.getBody();
-        return extractFileDiff(fullDiff, filePath);
+        return marker;
     }
 
-    private String extractFileDiff(String fullDiff, String filePath) {
-        String[] diffParts = fullDiff.split("diff --git");
+    private DiffIndex indexDiffStream(InputStream diff, String indexKey, String source) throws IOException {
+        Map<String, FileDiff> batch = new HashMap<>();
+        long[] batchSize = new long[1];
+        CountingInputStream counted = new CountingInputStream(diff);
+        DistributionSummary fileSizes = DistributionSummary.builder("github.diff.file_chars")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        List<String> paths = new ArrayList<>();
+        boolean parsed = diffParser.parse(counted, fileDiff -> {
+            if (fileDiff.path() == null) {
+                return;
+            }
+            fileSizes.record(fileDiff.text().length());
+            // 이름이 바뀐 파일은 이전 경로로도 저장 (처음 조회할 때 matches로 찾던 것과 같은 결과)
+            for (String path : fileDiff.paths()) {
+                paths.add(path);
+                batch.put(indexKey + ":" + path, fileDiff);
+                batchSize[0] += fileDiff.text().length();
+            }
+            if (batchSize[0] >= INDEX_BATCH_CHARS) {
+                immutableObjectStore.putAll(batch);
+                batch.clear();
+                batchSize[0] = 0;
+            }
+        });
+        immutableObjectStore.putAll(batch);
 
-        for (String part : diffParts) {
-            if (part.contains(filePath)) {
-                return "diff --git" + part;
+        // 커밋 diff 전체 크기와 파일 수 분포 (diff.max-bytes, 인덱스 배치 크기 조정용)
+        DistributionSummary.builder("github.diff.bytes")
+                .baseUnit("bytes")
+                .tag("source", source)
+                .tag("truncated", String.valueOf(!parsed))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(counted.count());
+        DistributionSummary.builder("github.diff.files")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(paths.size());
+        return new DiffIndex(!parsed, paths);
+    }
+
+    // 파서가 실제로 읽은 바이트 수를 셈
+    private static class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
             }
+            return b;
         }
 
-        return "No changes found for this file.";
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        long count() {
+            return count;
+        }
     }
 
     public Map<String, String> parseFileDiff(String diff) {
@@ -96,17 +497,22 @@ public class GithubService {
         StringBuilder oldContent = new StringBuilder();
         StringBuilder newContent = new StringBuilder();
 
-        String[] lines = diff.split("\n");
-        for (String line : lines) {
-            if (line.startsWith("-") && !line.startsWith("---")) {
-                oldContent.append(line.substring(1)).append("\n");
-            } else if (line.startsWith("+") && !line.startsWith("+++")) {
-                newContent.append(line.substring(1)).append("\n");
-            } else if (!line.startsWith("diff") && !line.startsWith("index") &&
-                    !line.startsWith("---") && !line.startsWith("+++")) {
-                oldContent.append(line).append("\n");
-                newContent.append(line).append("\n");
+        // 줄 배열을 만들지 않고 원문을 한 줄씩 훑으면서 필요한 부분만 복사
+        int start = 0;
+        while (start < diff.length()) {
+            int end = diff.indexOf('\n', start);
+            if (end < 0) end = diff.length();
+
+            if (diff.startsWith("-", start) && !diff.startsWith("---", start)) {
+                oldContent.append(diff, start + 1, end).append("\n");
+            } else if (diff.startsWith("+", start) && !diff.startsWith("+++", start)) {
+                newContent.append(diff, start + 1, end).append("\n");
+            } else if (!diff.startsWith("diff", start) && !diff.startsWith("index", start) &&
+                    !diff.startsWith("---", start) && !diff.startsWith("+++", start)) {
+                oldContent.append(diff, start, end).append("\n");
+                newContent.append(diff, start, end).append("\n");
             }
+            start = end + 1;
         }
 
         result.put("oldContent", oldContent.toString());
@@ -115,4 +521,8 @@ public class GithubService {
         return result;
     }
 
+    @PreDestroy
+    public void shutdown() {
+        listExecutor.shutdownNow();
+    }
 }
@@ -0,0 +1,183 @@
+package com.git_rest_api.github.service;
+
+import com.git_rest_api.github.dto.RepoSummary;
+import com.git_rest_api.github.ratelimit.GithubCallScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.kohsuke.github.GHCommit;
+import org.kohsuke.github.GHMyself;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.PagedIterator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 로그인 사용자의 저장소 목록 조회.
+ * 사용자 정보는 한 번만 조회하고 목록은 최대 페이지 크기(100)로 받는다.
+ * enrich를 요청하면 페이지를 받는 동안 저장소별 추가 정보(마지막 커밋, 열린 PR 수)를 가상 스레드에서 동시에 조회한다.
+ * 추가 정보를 가져오지 못한 필드는 비워 두고(응답에서 빠짐) repos.enrich.failures 로 기록한다.
+ */
+@Service
+public class RepositoryListingService {
+
+    // GitHub API가 허용하는 최대 per_page 값
+    private static final int MAX_PAGE_SIZE = 100;
+    // Link 헤더의 마지막 페이지 주소에서 page 값
+    private static final Pattern LAST_PAGE = Pattern.compile("<[^>]*[?&]page=(\\d+)[^>]*>;\\s*rel=\"last\"");
+
+    private final GithubClientFactory githubClientFactory;
+    private final OkHttpClient githubHttpClient;
+    private final GithubCallScheduler callScheduler;
+    private final MeterRegistry meterRegistry;
+    private final int enrichConcurrency;
+    private final String apiUrl;
+
+    public RepositoryListingService(GithubClientFactory githubClientFactory, OkHttpClient githubHttpClient,
+                                    GithubCallScheduler callScheduler, MeterRegistry meterRegistry,
+                                    @Value("${github.repos.enrich-concurrency:8}") int enrichConcurrency,
+                                    @Value("${github.api-url:https://api.github.com}") String apiUrl) {
+        this.githubClientFactory = githubClientFactory;
+        this.githubHttpClient = githubHttpClient;
+        this.callScheduler = callScheduler;
+        this.meterRegistry = meterRegistry;
+        this.enrichConcurrency = enrichConcurrency;
+        this.apiUrl = apiUrl;
+    }
+
+    public List<RepoSummary> listOwnedRepositories(String accessToken, boolean enrich) throws IOException {
+        // 토큰별로 캐시된 클라이언트 사용 (공용 커넥터라 연결 재사용과 ETag 조건부 요청이 적용됨)
+        GitHub github = githubClientFactory.forToken(accessToken);
+        List<RepoSummary> repositories = new ArrayList<>();
+        List<Future<RepoSummary>> enrichments = new ArrayList<>();
+        Semaphore permits = new Semaphore(enrichConcurrency);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // 목록 순회가 끝나면 슬롯을 반납하고, 추가 정보 조회는 각자 스케줄러 슬롯을 받아서 진행
+            callScheduler.call(accessToken, "list_repositories", () -> {
+                GHMyself myself = github.getMyself();
+                String login = myself.getLogin();
+                for (GHRepository repo : myself.listRepositories(MAX_PAGE_SIZE, GHMyself.RepositoryListFilter.OWNER)) {
+                    if (!login.equals(repo.getOwnerName())) {
+                        continue;
+                    }
+                    RepoSummary summary = new RepoSummary(repo.getName(), repo.getOwnerName(), repo.getDefaultBranch(),
+                            null, null, null);
+                    repositories.add(summary);
+
+                    // 다음 페이지를 받는 동안 이미 받은 저장소의 추가 정보 조회를 시작
+                    if (enrich) {
+                        enrichments.add(executor.submit(() -> enrich(accessToken, repo, summary, permits)));
+                    }
+                }
+                return null;
+            });
+
+            // 추가 정보를 요청한 경우 목록 순서대로 조회 결과로 교체
+            for (int i = 0; i < enrichments.size(); i++) {
+                repositories.set(i, await(enrichments.get(i)));
+            }
+        }
+
+        return repositories;
+    }
+
+    private RepoSummary enrich(String accessToken, GHRepository repo, RepoSummary summary, Semaphore permits) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return summary;
+        }
+        // 빈 저장소나 rate limit 등으로 추가 정보를 못 가져와도 목록은 그대로 반환 (필드별로 따로 시도)
+        try {
+            try {
+                GHCommit last = callScheduler.call(accessToken, "get_last_commit", () -> {
+                    PagedIterator<GHCommit> commits = repo.queryCommits().pageSize(1).list().iterator();
+                    return commits.hasNext() ? commits.next() : null;
+                });
+                if (last != null) {
+                    summary = summary.withLastCommit(last.getSHA1(), last.getCommitDate().toInstant());
+                }
+            } catch (IOException | RuntimeException e) {
+                countFailure("last_commit");
+            }
+            try {
+                int openPullRequests = callScheduler.call(accessToken, "count_open_pull_requests",
+                        () -> countOpenPullRequests(accessToken, repo));
+                summary = summary.withOpenPullRequests(openPullRequests);
+            } catch (IOException | RuntimeException e) {
+                countFailure("open_pull_requests");
+            }
+        } finally {
+            permits.release();
+        }
+        return summary;
+    }
+
+    // 열린 PR을 한 페이지에 하나씩 요청하면 Link 헤더의 마지막 페이지 번호가 전체 개수 (요청 한 번)
+    private int countOpenPullRequests(String accessToken, GHRepository repo) throws IOException {
+        HttpUrl url = HttpUrl.get(String.format("%s/repos/%s/pulls", apiUrl, repo.getFullName()))
+                .newBuilder()
+                .addQueryParameter("state", "open")
+                .addQueryParameter("per_page", "1")
+                .build();
+        Request request = new Request.Builder()
+                .url(url)
+                .header("Accept", "application/vnd.github+json")
+                .header("Authorization", "Bearer " + accessToken)
+                .build();
+
+        try (Response response = githubHttpClient.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            if (!response.isSuccessful() || body == null) {
+                throw new IOException("GitHub pull request list request failed with status " + response.code()
+                        + ": " + repo.getFullName());
+            }
+            Integer lastPage = lastPage(response.header("Link"));
+            if (lastPage != null) {
+                return lastPage;
+            }
+            // Link 헤더가 없으면 한 페이지뿐이므로 PR은 0개 또는 1개
+            return "[]".equals(body.string().strip()) ? 0 : 1;
+        }
+    }
+
+    static Integer lastPage(String link) {
+        if (link == null) {
+            return null;
+        }
+        Matcher matcher = LAST_PAGE.matcher(link);
+        return matcher.find() ? Integer.valueOf(matcher.group(1)) : null;
+    }
+
+    private void countFailure(String field) {
+        meterRegistry.counter("repos.enrich.failures", "field", field).increment();
+    }
+
+    private RepoSummary await(Future<RepoSummary> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while enriching repositories", e);
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.git_rest_api.github.stats;
+
+import com.git_rest_api.github.dto.ChangedFile;
+import com.git_rest_api.github.dto.ChurnReport;
+import com.git_rest_api.github.dto.CommitStats;
+import com.git_rest_api.github.dto.CommitSummary;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * 커밋 변경량을 작성자별 / 파일 경로별 / 주(월요일 시작, UTC)별 커밋 수와 추가/삭제 줄 수로 합산한 부분 집계.
+ * 여러 집계를 merge로 합칠 수 있으므로 커밋 범위를 나눠서 따로 계산한 뒤 합치거나(fork-join),
+ * 이전 집계에 새 커밋만 계산해서 더하는(증분 갱신) 방식으로 사용한다.
+ * 공개된 집계는 수정하지 않고 copy 후 merge 한다.
+ */
+public class ChurnAggregate {
+
+    private static final int SNAPSHOT_VERSION = 3;
+
+    static final class Counters {
+        long commits;
+        long additions;
+        long deletions;
+
+        void add(long commits, long additions, long deletions) {
+            this.commits += commits;
+            this.additions += additions;
+            this.deletions += deletions;
+        }
+
+        void merge(Counters other) {
+            add(other.commits, other.additions, other.deletions);
+        }
+
+        long churn() {
+            return additions + deletions;
+        }
+    }
+
+    // 집계에 포함된 가장 최근 커밋 (다음 증분 갱신은 이 커밋 이후부터)
+    private String headSha;
+    private long commits;
+    // 상세를 가져오지 못해 빠진 커밋 수
+    private long skippedCommits;
+    // max-commits 제한으로 오래된 커밋이 빠졌는지
+    private boolean truncated;
+    private long updatedAtMillis;
+    // 전체 집계가 아직 끝나지 않았는지 (rate limit 예산이 모자라면 다음 갱신에서 이어서 집계)
+    private boolean backfilling;
+    // 전체 집계에서 마지막으로 처리한 (가장 오래된) 커밋, null이면 headSha부터 시작
+    private String backfillSha;
+    // 전체 집계에서 지금까지 읽은 커밋 수 (max-commits 제한용, merge 커밋 포함)
+    private int backfilledCommits;
+    // 작성자는 이메일(소문자) 기준으로 합치고, 이름은 가장 최근 커밋의 값
+    private final Map<String, Counters> authors = new HashMap<>();
+    private final Map<String, AuthorName> authorNames = new HashMap<>();
+    private final Map<String, Counters> paths = new HashMap<>();
+    private final TreeMap<LocalDate, Counters> weeks = new TreeMap<>();
+
+    // 커밋 시각(epoch millis)이 같으면 이름 순으로 정해서 합치는 순서와 관계없이 같은 결과
+    record AuthorName(String name, long commitMillis) {
+
+        AuthorName newer(AuthorName other) {
+            if (commitMillis != other.commitMillis) {
+                return commitMillis > other.commitMillis ? this : other;
+            }
+            return name.compareTo(other.name) >= 0 ? this : other;
+        }
+    }
+
+    public void add(CommitStats detail) {
+        CommitSummary commit = detail.commit();
+        long additions = 0;
+        long deletions = 0;
+        for (ChangedFile file : detail.changedFiles()) {
+            paths.computeIfAbsent(file.fileName(), key -> new Counters())
+                    .add(1, file.additions(), file.deletions());
+            additions += file.additions();
+            deletions += file.deletions();
+        }
+
+        String author = authorKey(commit);
+        authors.computeIfAbsent(author, key -> new Counters()).add(1, additions, deletions);
+        if (commit.authorName() != null) {
+            long commitMillis = commit.commitDate() != null ? commit.commitDate().toEpochMilli() : Long.MIN_VALUE;
+            authorNames.merge(author, new AuthorName(commit.authorName(), commitMillis), AuthorName::newer);
+        }
+        if (commit.commitDate() != null) {
+            weeks.computeIfAbsent(weekOf(commit.commitDate()), key -> new Counters()).add(1, additions, deletions);
+        }
+        commits++;
+    }
+
+    public void skip() {
+        skippedCommits++;
+    }
+
+    // 카운터만 합침 (headSha, truncated, updatedAt, 전체 집계 진행 상태는 호출하는 쪽에서 정함)
+    public void merge(ChurnAggregate other) {
+        commits += other.commits;
+        skippedCommits += other.skippedCommits;
+        other.authors.forEach((key, counters) -> authors.computeIfAbsent(key, k -> new Counters()).merge(counters));
+        other.authorNames.forEach((key, name) -> authorNames.merge(key, name, AuthorName::newer));
+        other.paths.forEach((key, counters) -> paths.computeIfAbsent(key, k -> new Counters()).merge(counters));
+        other.weeks.forEach((key, counters) -> weeks.computeIfAbsent(key, k -> new Counters()).merge(counters));
+    }
+
+    public ChurnAggregate copy() {
+        ChurnAggregate copy = new ChurnAggregate();
+        copy.merge(this);
+        copy.headSha = headSha;
+        copy.truncated = truncated;
+        copy.updatedAtMillis = updatedAtMillis;
+        copy.backfilling = backfilling;
+        copy.backfillSha = backfillSha;
+        copy.backfilledCommits = backfilledCommits;
+        return copy;
+    }
+
+    /**
+     * limit: 작성자/파일 최대 개수, weekCount: 최근 몇 주까지 포함할지.
+     * 전체를 정렬하지 않고 상위 limit 개만 유지한다.
+     */
+    public ChurnReport report(String owner, String repo, int limit, int weekCount) {
+        List<ChurnReport.AuthorChurn> topAuthors = top(authors, limit,
+                Comparator.comparingLong((Map.Entry<String, Counters> e) -> e.getValue().commits)
+                        .thenComparingLong(e -> e.getValue().churn())).stream()
+                .map(e -> new ChurnReport.AuthorChurn(e.getKey(), authorName(e.getKey()),
+                        e.getValue().commits, e.getValue().additions, e.getValue().deletions))
+                .toList();
+        List<ChurnReport.PathChurn> hotFiles = top(paths, limit,
+                Comparator.comparingLong((Map.Entry<String, Counters> e) -> e.getValue().churn())
+                        .thenComparingLong(e -> e.getValue().commits)).stream()
+                .map(e -> new ChurnReport.PathChurn(e.getKey(),
+                        e.getValue().commits, e.getValue().additions, e.getValue().deletions))
+                .toList();
+
+        List<ChurnReport.WeekChurn> recentWeeks = new ArrayList<>();
+        for (Map.Entry<LocalDate, Counters> week : weeks.descendingMap().entrySet()) {
+            if (recentWeeks.size() == weekCount) {
+                break;
+            }
+            recentWeeks.add(new ChurnReport.WeekChurn(week.getKey(),
+                    week.getValue().commits, week.getValue().additions, week.getValue().deletions));
+        }
+        recentWeeks.sort(Comparator.comparing(ChurnReport.WeekChurn::weekStart));
+
+        return new ChurnReport(owner, repo, headSha, commits, skippedCommits, truncated,
+                Instant.ofEpochMilli(updatedAtMillis), topAuthors, hotFiles, recentWeeks);
+    }
+
+    // comparator 기준으로 큰 것부터 limit 개
+    private static <K> List<Map.Entry<K, Counters>> top(Map<K, Counters> counters, int limit,
+                                                        Comparator<Map.Entry<K, Counters>> order) {
+        PriorityQueue<Map.Entry<K, Counters>> largest = new PriorityQueue<>(order);
+        for (Map.Entry<K, Counters> entry : counters.entrySet()) {
+            largest.add(entry);
+            if (largest.size() > limit) {
+                largest.poll();
+            }
+        }
+        List<Map.Entry<K, Counters>> result = new ArrayList<>(largest);
+        result.sort(order.reversed());
+        return result;
+    }
+
+    private String authorName(String author) {
+        AuthorName name = authorNames.get(author);
+        return name != null ? name.name() : null;
+    }
+
+    private static String authorKey(CommitSummary commit) {
+        if (commit.authorEmail() != null && !commit.authorEmail().isEmpty()) {
+            return commit.authorEmail().toLowerCase(Locale.ROOT);
+        }
+        return commit.authorName() != null ? commit.authorName() : "unknown";
+    }
+
+    static LocalDate weekOf(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    public String getHeadSha() {
+        return headSha;
+    }
+
+    public void setHeadSha(String headSha) {
+        this.headSha = headSha;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public long getUpdatedAtMillis() {
+        return updatedAtMillis;
+    }
+
+    public void setUpdatedAtMillis(long updatedAtMillis) {
+        this.updatedAtMillis = updatedAtMillis;
+    }
+
+    public boolean isBackfilling() {
+        return backfilling;
+    }
+
+    public void setBackfilling(boolean backfilling) {
+        this.backfilling = backfilling;
+    }
+
+    public String getBackfillSha() {
+        return backfillSha;
+    }
+
+    public void setBackfillSha(String backfillSha) {
+        this.backfillSha = backfillSha;
+    }
+
+    public int getBackfilledCommits() {
+        return backfilledCommits;
+    }
+
+    public void setBackfilledCommits(int backfilledCommits) {
+        this.backfilledCommits = backfilledCommits;
+    }
+
+    public long getCommits() {
+        return commits;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(SNAPSHOT_VERSION);
+        data.writeBoolean(headSha != null);
+        if (headSha != null) {
+            data.writeUTF(headSha);
+        }
+        data.writeLong(commits);
+        data.writeLong(skippedCommits);
+        data.writeBoolean(truncated);
+        data.writeLong(updatedAtMillis);
+        data.writeBoolean(backfilling);
+        data.writeBoolean(backfillSha != null);
+        if (backfillSha != null) {
+            data.writeUTF(backfillSha);
+        }
+        data.writeInt(backfilledCommits);
+
+        data.writeInt(authors.size());
+        for (Map.Entry<String, Counters> entry : authors.entrySet()) {
+            AuthorName name = authorNames.get(entry.getKey());
+            data.writeUTF(entry.getKey());
+            data.writeUTF(name != null ? name.name() : "");
+            data.writeLong(name != null ? name.commitMillis() : Long.MIN_VALUE);
+            writeCounters(data, entry.getValue());
+        }
+        data.writeInt(paths.size());
+        for (Map.Entry<String, Counters> entry : paths.entrySet()) {
+            data.writeUTF(entry.getKey());
+            writeCounters(data, entry.getValue());
+        }
+        data.writeInt(weeks.size());
+        for (Map.Entry<LocalDate, Counters> entry : weeks.entrySet()) {
+            data.writeLong(entry.getKey().toEpochDay());
+            writeCounters(data, entry.getValue());
+        }
+        data.flush();
+    }
+
+    public static ChurnAggregate readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int version = data.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("Unknown churn stats snapshot version: " + version);
+        }
+        ChurnAggregate aggregate = new ChurnAggregate();
+        aggregate.headSha = data.readBoolean() ? data.readUTF() : null;
+        aggregate.commits = data.readLong();
+        aggregate.skippedCommits = data.readLong();
+        aggregate.truncated = data.readBoolean();
+        aggregate.updatedAtMillis = data.readLong();
+        aggregate.backfilling = data.readBoolean();
+        aggregate.backfillSha = data.readBoolean() ? data.readUTF() : null;
+        aggregate.backfilledCommits = data.readInt();
+
+        int authorCount = data.readInt();
+        for (int i = 0; i < authorCount; i++) {
+            String key = data.readUTF();
+            String name = data.readUTF();
+            long commitMillis = data.readLong();
+            if (!name.isEmpty()) {
+                aggregate.authorNames.put(key, new AuthorName(name, commitMillis));
+            }
+            aggregate.authors.put(key, readCounters(data));
+        }
+        int pathCount = data.readInt();
+        for (int i = 0; i < pathCount; i++) {
+            aggregate.paths.put(data.readUTF(), readCounters(data));
+        }
+        int weekCount = data.readInt();
+        for (int i = 0; i < weekCount; i++) {
+            aggregate.weeks.put(LocalDate.ofEpochDay(data.readLong()), readCounters(data));
+        }
+        return aggregate;
+    }
+
+    private static void writeCounters(DataOutputStream data, Counters counters) throws IOException {
+        data.writeLong(counters.commits);
+        data.writeLong(counters.additions);
+        data.writeLong(counters.deletions);
+    }
+
+    private static Counters readCounters(DataInputStream data) throws IOException {
+        Counters counters = new Counters();
+        counters.add(data.readLong(), data.readLong(), data.readLong());
+        return counters;
+    }
+}
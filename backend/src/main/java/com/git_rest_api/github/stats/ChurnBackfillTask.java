@@ -0,0 +1,55 @@
+package com.git_rest_api.github.stats;
+
+import com.git_rest_api.github.dto.CommitStats;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 커밋 SHA 목록을 반으로 나눠 가며 병렬로 집계한 뒤 합친다.
+ * 상세를 가져오지 못한 커밋은 건너뛰고(skippedCommits), RuntimeException(rate limit 예산 부족 등)은 전체 작업을 중단한다.
+ * merge 커밋은 첫 번째 부모와의 diff가 병합된 브랜치 커밋들의 변경을 다시 세므로 집계하지 않는다.
+ */
+class ChurnBackfillTask extends RecursiveTask<ChurnAggregate> {
+
+    @FunctionalInterface
+    interface DetailLoader {
+        CommitStats load(String sha) throws IOException;
+    }
+
+    private final List<String> shas;
+    private final DetailLoader loader;
+    private final int leafSize;
+
+    ChurnBackfillTask(List<String> shas, DetailLoader loader, int leafSize) {
+        this.shas = shas;
+        this.loader = loader;
+        this.leafSize = Math.max(1, leafSize);
+    }
+
+    @Override
+    protected ChurnAggregate compute() {
+        if (shas.size() <= leafSize) {
+            ChurnAggregate aggregate = new ChurnAggregate();
+            for (String sha : shas) {
+                try {
+                    CommitStats stats = loader.load(sha);
+                    if (!stats.isMerge()) {
+                        aggregate.add(stats);
+                    }
+                } catch (IOException e) {
+                    aggregate.skip();
+                }
+            }
+            return aggregate;
+        }
+
+        int middle = shas.size() / 2;
+        ChurnBackfillTask older = new ChurnBackfillTask(shas.subList(middle, shas.size()), loader, leafSize);
+        older.fork();
+        ChurnAggregate aggregate = new ChurnBackfillTask(shas.subList(0, middle), loader, leafSize).compute();
+        aggregate.merge(older.join());
+        return aggregate;
+    }
+}
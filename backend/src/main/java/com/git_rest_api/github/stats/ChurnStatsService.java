@@ -0,0 +1,302 @@
+package com.git_rest_api.github.stats;
+
+import com.git_rest_api.github.dto.ChurnReport;
+import com.git_rest_api.github.dto.CommitCursor;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitStats;
+import com.git_rest_api.github.dto.CommitSummary;
+import com.git_rest_api.github.ratelimit.GithubCallScheduler;
+import com.git_rest_api.github.ratelimit.GithubRateLimitException;
+import com.git_rest_api.github.service.CommitQueryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 저장소별 기여자/변경량 통계.
+ * 처음에는 최신 커밋부터 max-commits 개까지 히스토리를 페이지 단위로 훑어 fork-join으로 병렬 집계하고 (merge 커밋 제외),
+ * 페이지마다 마지막으로 처리한 커밋과 함께 저장해서 rate limit 예산(백그라운드 예약분 제외)이 모자라면 다음 갱신에서 이어서 집계한다.
+ * 이후에는 마지막으로 집계한 커밋(headSha) 이후의 새 커밋만 집계해서 더한다.
+ * 집계 결과는 Redis(churn_stats:{owner}:{repo})와 메모리에 보관하므로 조회할 때는 GitHub을 호출하지 않는다.
+ * 강제 push 등으로 headSha가 히스토리에서 사라지면 처음부터 다시 집계한다.
+ */
+@Service
+public class ChurnStatsService {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final CommitQueryService commitQueryService;
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final GithubCallScheduler callScheduler;
+    private final MeterRegistry meterRegistry;
+    private final String githubToken;
+    private final int maxCommits;
+    private final int leafSize;
+    private final Duration refreshInterval;
+    private final ForkJoinPool pool;
+    private final ThreadPoolExecutor updater;
+    private final Map<String, ChurnAggregate> aggregates = new ConcurrentHashMap<>();
+    // 갱신이 큐에 있거나 실행 중인 저장소
+    private final Set<String> updating = ConcurrentHashMap.newKeySet();
+
+    public ChurnStatsService(CommitQueryService commitQueryService,
+                             RedisTemplate<String, byte[]> binaryRedisTemplate,
+                             GithubCallScheduler callScheduler, MeterRegistry meterRegistry,
+                             @Value("${github.token}") String githubToken,
+                             @Value("${stats.max-commits:5000}") int maxCommits,
+                             @Value("${stats.parallelism:4}") int parallelism,
+                             @Value("${stats.leaf-size:25}") int leafSize,
+                             @Value("${stats.refresh-interval:10m}") Duration refreshInterval) {
+        this.commitQueryService = commitQueryService;
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.callScheduler = callScheduler;
+        this.meterRegistry = meterRegistry;
+        this.githubToken = githubToken;
+        this.maxCommits = maxCommits;
+        this.leafSize = leafSize;
+        this.refreshInterval = refreshInterval;
+        this.pool = new ForkJoinPool(parallelism);
+        // 저장소 단위 갱신은 한 번에 하나씩 (커밋 상세 조회는 pool에서 병렬로)
+        this.updater = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(100), runnable -> {
+            Thread thread = new Thread(runnable, "churn-stats");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static String statsKey(String owner, String repo) {
+        return ("churn_stats:" + owner + ":" + repo).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 집계된 통계가 있으면 바로 반환하고, 없으면 null을 반환하면서 백그라운드 집계를 시작한다.
+     * refresh-interval이 지난 통계는 그대로 반환하되 증분 갱신을 시작한다.
+     */
+    public ChurnReport report(String owner, String repo, int limit, int weeks) {
+        ChurnAggregate aggregate = aggregates.computeIfAbsent(statsKey(owner, repo), this::load);
+        if (aggregate == null
+                || System.currentTimeMillis() - aggregate.getUpdatedAtMillis() >= refreshInterval.toMillis()) {
+            requestUpdate(owner, repo);
+        }
+        return aggregate != null ? aggregate.report(owner, repo, limit, weeks) : null;
+    }
+
+    // push 이벤트: 이미 통계를 집계한 저장소만 갱신
+    public void onPush(String owner, String repo) {
+        String key = statsKey(owner, repo);
+        if (aggregates.containsKey(key)) {
+            requestUpdate(owner, repo);
+        }
+    }
+
+    public void requestUpdate(String owner, String repo) {
+        String key = statsKey(owner, repo);
+        if (!updating.add(key)) {
+            return;
+        }
+        try {
+            updater.execute(() -> {
+                try {
+                    update(owner, repo);
+                } finally {
+                    updating.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            updating.remove(key);
+            count("dropped");
+        }
+    }
+
+    void update(String owner, String repo) {
+        String key = statsKey(owner, repo);
+        ChurnAggregate existing = aggregates.get(key);
+        String since = existing != null ? existing.getHeadSha() : null;
+        long start = System.nanoTime();
+        try {
+            // 이번 갱신에서 쓸 수 있는 호출 수 (백그라운드 예약분은 남김)
+            long budget = callScheduler.backgroundBudget(githubToken);
+
+            // 최신 커밋부터 since를 만날 때까지 (처음이면 첫 페이지로 HEAD만 확인)
+            List<String> newShas = new ArrayList<>();
+            String head = null;
+            boolean foundSince = false;
+            boolean truncated = false;
+            String cursor = null;
+            while (true) {
+                String pageCursor = cursor;
+                // 첫 페이지는 캐시(soft TTL 동안 오래된 HEAD일 수 있음)를 거치지 않고 읽음, 이후 페이지는 그 HEAD에 고정된 커서
+                CommitPage page = callScheduler.callInBackground(() -> pageCursor == null
+                        ? commitQueryService.refreshCommitPage(owner, repo, PAGE_SIZE)
+                        : commitQueryService.getCommitPage(owner, repo, 1, PAGE_SIZE, pageCursor));
+                budget--;
+                if (head == null && !page.commits().isEmpty()) {
+                    head = page.commits().get(0).sha();
+                }
+                if (since == null) {
+                    break;
+                }
+                for (CommitSummary commit : page.commits()) {
+                    if (commit.sha().equals(since)) {
+                        foundSince = true;
+                        break;
+                    }
+                    if (newShas.size() >= maxCommits) {
+                        truncated = true;
+                        break;
+                    }
+                    newShas.add(commit.sha());
+                }
+                if (foundSince || truncated || page.nextCursor() == null) {
+                    break;
+                }
+                cursor = page.nextCursor();
+            }
+
+            ChurnAggregate updated;
+            String type;
+            if (existing != null && foundSince) {
+                // 증분은 나눠서 저장할 수 없으므로 예산이 모자라면 다음 갱신으로 미룸
+                if (newShas.size() > budget) {
+                    count("skipped_budget");
+                    return;
+                }
+                updated = existing.copy();
+                updated.merge(backfill(owner, repo, newShas));
+                budget -= newShas.size();
+                if (!newShas.isEmpty()) {
+                    updated.setHeadSha(newShas.get(0));
+                }
+                type = newShas.isEmpty() ? "unchanged" : "incremental";
+            } else {
+                // 처음이거나 headSha가 히스토리에 없음 (강제 push): HEAD부터 페이지 단위로 다시 집계
+                updated = new ChurnAggregate();
+                updated.setHeadSha(head);
+                updated.setBackfilling(head != null);
+                type = "full";
+            }
+            updated.setUpdatedAtMillis(System.currentTimeMillis());
+            save(key, updated);
+
+            // 끝나지 않은 전체 집계는 마지막으로 처리한 커밋 다음부터 이어서 진행
+            if (updated.isBackfilling() && !continueBackfill(owner, repo, key, updated, budget)) {
+                type = "partial";
+            }
+            count(type);
+        } catch (GithubRateLimitException e) {
+            count("skipped_budget");
+        } catch (IOException | RuntimeException e) {
+            count("failed");
+        } finally {
+            meterRegistry.timer("stats.update").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 전체 집계를 한 페이지씩 진행하고 페이지마다 진행 상태(backfillSha)와 함께 저장한다.
+     * 페이지 조회 1회 + 커밋마다 1회로 보고 budget 안에서만 진행하며, 끝나지 않았으면 false를 반환한다.
+     * 도중에 실패해도 이미 저장한 페이지까지의 집계는 남으므로 다음 갱신에서 이어서 진행한다.
+     */
+    private boolean continueBackfill(String owner, String repo, String key, ChurnAggregate aggregate, long budget)
+            throws IOException {
+        ChurnAggregate current = aggregate;
+        while (budget > 1) {
+            // 마지막으로 처리한 커밋은 건너뛰고 그 다음부터 (처음이면 HEAD 포함)
+            CommitCursor from = current.getBackfillSha() != null
+                    ? new CommitCursor(current.getBackfillSha(), 1)
+                    : new CommitCursor(current.getHeadSha(), 0);
+            CommitPage page = callScheduler.callInBackground(
+                    () -> commitQueryService.getCommitPage(owner, repo, 1, PAGE_SIZE, from.encode()));
+            budget--;
+
+            long limit = Math.max(0, Math.min(maxCommits - current.getBackfilledCommits(), budget));
+            List<String> shas = page.commits().stream().map(CommitSummary::sha).limit(limit).toList();
+            boolean exhausted = shas.size() == page.commits().size() && page.nextCursor() == null;
+
+            // 공개된 집계는 수정하지 않음
+            ChurnAggregate next = current.copy();
+            next.merge(backfill(owner, repo, shas));
+            budget -= shas.size();
+            if (!shas.isEmpty()) {
+                next.setBackfillSha(shas.get(shas.size() - 1));
+                next.setBackfilledCommits(current.getBackfilledCommits() + shas.size());
+            }
+            if (!exhausted && next.getBackfilledCommits() >= maxCommits) {
+                next.setTruncated(true);
+            }
+            if (exhausted || next.isTruncated()) {
+                next.setBackfilling(false);
+                next.setBackfillSha(null);
+            }
+            next.setUpdatedAtMillis(System.currentTimeMillis());
+            save(key, next);
+            current = next;
+            if (!current.isBackfilling()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private ChurnAggregate backfill(String owner, String repo, List<String> shas) {
+        if (shas.isEmpty()) {
+            return new ChurnAggregate();
+        }
+        ChurnAggregate aggregate = pool.invoke(new ChurnBackfillTask(shas, sha -> loadStats(owner, repo, sha), leafSize));
+        meterRegistry.counter("stats.commits").increment(shas.size());
+        return aggregate;
+    }
+
+    private CommitStats loadStats(String owner, String repo, String sha) throws IOException {
+        return callScheduler.callInBackground(() -> commitQueryService.getCommitStats(owner, repo, sha));
+    }
+
+    private ChurnAggregate load(String key) {
+        byte[] stored = binaryRedisTemplate.opsForValue().get(key);
+        if (stored == null) {
+            return null;
+        }
+        try {
+            return ChurnAggregate.readFrom(new ByteArrayInputStream(stored));
+        } catch (IOException e) {
+            // 형식이 바뀐 값은 버리고 다시 집계
+            count("corrupted");
+            return null;
+        }
+    }
+
+    private void save(String key, ChurnAggregate aggregate) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        aggregate.writeTo(out);
+        binaryRedisTemplate.opsForValue().set(key, out.toByteArray());
+        aggregates.put(key, aggregate);
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("stats.updates", "result", result).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        updater.shutdownNow();
+        pool.shutdownNow();
+    }
+}
@@ -0,0 +1,56 @@
+package com.git_rest_api.github.webhook;
+
+import com.git_rest_api.github.dto.CommitCursor;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitSummary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * push 이벤트의 새 커밋을 캐시된 첫 페이지 앞에 붙인다.
+ * 결과가 GitHub 목록과 같다고 확신할 수 있는 경우(강제 push가 아니고, 캐시된 첫 커밋이 push 이전 HEAD이고,
+ * 모든 커밋이 이 push에서 처음 들어온 선형 커밋)에만 갱신하고 나머지는 null을 반환해 무효화하도록 한다.
+ * 다른 브랜치에서 이미 push된 커밋을 포함하는 merge는 GitHub 목록 순서를 알 수 없어서 무효화 대상이다.
+ */
+public final class CommitPageUpdater {
+
+    private CommitPageUpdater() {
+    }
+
+    public static CommitPage prepend(CommitPage page, PushEvent event) {
+        if (event.forced() || event.deleted() || event.commits().isEmpty()) {
+            return null;
+        }
+        if (page.cursor() != null || page.currentPage() != 1 || page.commits().isEmpty()) {
+            return null;
+        }
+        if (!page.commits().get(0).sha().equals(event.before())) {
+            return null;
+        }
+        List<PushEvent.PushedCommit> pushed = event.commits();
+        if (!pushed.get(pushed.size() - 1).id().equals(event.after())
+                || !pushed.stream().allMatch(PushEvent.PushedCommit::distinct)) {
+            return null;
+        }
+
+        List<CommitSummary> commits = new ArrayList<>(page.perPage());
+        // payload는 오래된 커밋부터이므로 역순으로 붙임
+        for (int i = pushed.size() - 1; i >= 0 && commits.size() < page.perPage(); i--) {
+            PushEvent.PushedCommit commit = pushed.get(i);
+            commits.add(new CommitSummary(commit.id(), commit.authorName(), commit.authorEmail(),
+                    commit.timestamp(), commit.message()));
+        }
+        for (CommitSummary commit : page.commits()) {
+            if (commits.size() >= page.perPage()) {
+                break;
+            }
+            commits.add(commit);
+        }
+
+        // 다음 페이지 커서는 새 HEAD 목록에서의 위치
+        String nextCursor = commits.size() == page.perPage()
+                ? new CommitCursor(event.after(), page.perPage()).encode() : null;
+        return new CommitPage(commits, page.repoName(), page.owner(), 1, page.perPage(), null, nextCursor);
+    }
+}
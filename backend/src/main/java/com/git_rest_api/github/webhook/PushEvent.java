@@ -0,0 +1,48 @@
+package com.git_rest_api.github.webhook;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GitHub push 이벤트 중 캐시 갱신에 필요한 부분.
+ * commits는 payload 순서(오래된 것 -> 최신) 그대로 보관한다.
+ */
+public record PushEvent(String owner, String repo, String ref, String defaultBranch, String before, String after,
+                        boolean forced, boolean deleted, List<PushedCommit> commits) {
+
+    public record PushedCommit(String id, String message, Instant timestamp, String authorName, String authorEmail,
+                               boolean distinct) {
+    }
+
+    public static PushEvent from(JsonNode payload) {
+        JsonNode repository = payload.path("repository");
+        JsonNode owner = repository.path("owner");
+        // push 이벤트의 owner는 login 대신 name만 있는 경우가 있음
+        String ownerName = owner.hasNonNull("login") ? owner.get("login").asText() : owner.path("name").asText(null);
+
+        List<PushedCommit> commits = new ArrayList<>();
+        for (JsonNode commit : payload.path("commits")) {
+            String timestamp = commit.path("timestamp").asText(null);
+            commits.add(new PushedCommit(
+                    commit.path("id").asText(),
+                    commit.path("message").asText(""),
+                    timestamp != null ? OffsetDateTime.parse(timestamp).toInstant() : null,
+                    commit.path("author").path("name").asText(null),
+                    commit.path("author").path("email").asText(null),
+                    commit.path("distinct").asBoolean(true)));
+        }
+
+        return new PushEvent(ownerName, repository.path("name").asText(null), payload.path("ref").asText(""),
+                repository.path("default_branch").asText(null), payload.path("before").asText(null),
+                payload.path("after").asText(null), payload.path("forced").asBoolean(false),
+                payload.path("deleted").asBoolean(false), commits);
+    }
+
+    public boolean isDefaultBranch() {
+        return defaultBranch != null && ref.equals("refs/heads/" + defaultBranch);
+    }
+}
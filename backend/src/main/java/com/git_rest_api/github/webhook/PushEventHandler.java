@@ -0,0 +1,98 @@
+package com.git_rest_api.github.webhook;
+
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.mirror.GitMirrorService;
+import com.git_rest_api.github.search.CommitSearchService;
+import com.git_rest_api.github.stats.ChurnStatsService;
+import com.git_rest_api.redis.CacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 기본 브랜치 push 이벤트로 해당 저장소의 커밋 목록 캐시를 갱신한다.
+ * - 첫 페이지(commits:{owner}:{repo}:1:{perPage})는 가능하면 새 커밋을 앞에 붙여서 갱신
+ * - 나머지 페이지 번호 기반 항목과 페이지 커서는 새 커밋 수만큼 밀리므로 삭제
+ * - 커서 기반 항목(특정 SHA 이후의 커밋)은 히스토리가 바뀌지 않는 한 유효하므로 강제 push일 때만 삭제
+ */
+@Service
+@RequiredArgsConstructor
+public class PushEventHandler {
+
+    private final CacheService cacheService;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final GitMirrorService gitMirrorService;
+    private final CommitSearchService commitSearchService;
+    private final ChurnStatsService churnStatsService;
+
+    public Map<String, Object> handle(PushEvent event) {
+        Map<String, Object> result = new HashMap<>();
+        if (event.owner() == null || event.repo() == null || !event.isDefaultBranch()) {
+            count("ignored");
+            result.put("result", "ignored");
+            return result;
+        }
+
+        // 로컬 mirror를 쓰는 저장소는 다음 조회 때 바로 fetch
+        gitMirrorService.markStale(event.owner(), event.repo());
+        // 새 커밋은 목록을 다시 조회하기 전에도 검색되도록 바로 색인
+        commitSearchService.indexPush(event);
+
+        String prefix = "commits:" + event.owner() + ":" + event.repo() + ":";
+        boolean rewritten = event.forced() || event.deleted();
+        int updated = 0;
+        int evicted = 0;
+
+        for (String key : scan(prefix + "*")) {
+            String rest = key.substring(prefix.length());
+            if (rest.startsWith("cursor:")) {
+                if (rewritten) {
+                    cacheService.evict(key);
+                    evicted++;
+                }
+                continue;
+            }
+            if (rest.startsWith("1:")) {
+                CommitPage page = cacheService.peek(key, CommitPage.class);
+                CommitPage prepended = page != null ? CommitPageUpdater.prepend(page, event) : null;
+                if (prepended != null) {
+                    cacheService.put(key, prepended);
+                    updated++;
+                    continue;
+                }
+            }
+            cacheService.evict(key);
+            evicted++;
+        }
+
+        // 캐시를 정리한 뒤에 통계를 갱신해야 새 커밋이 보임
+        churnStatsService.onPush(event.owner(), event.repo());
+
+        count(updated > 0 ? "prepended" : "invalidated");
+        result.put("result", "applied");
+        result.put("prepended", updated);
+        result.put("evicted", evicted);
+        return result;
+    }
+
+    private List<String> scan(String pattern) {
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(500).build())) {
+            cursor.forEachRemaining(keys::add);
+        }
+        return keys;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("webhook.push_events", "result", result).increment();
+    }
+}
@@ -0,0 +1,37 @@
+package com.git_rest_api.github.webhook;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+// GitHub webhook의 X-Hub-Signature-256 헤더("sha256=<hex>") 검증
+public final class WebhookSignatureVerifier {
+
+    private static final String PREFIX = "sha256=";
+
+    private WebhookSignatureVerifier() {
+    }
+
+    public static String sign(String secret, byte[] body) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return PREFIX + HexFormat.of().formatHex(mac.doFinal(body));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static boolean verify(String secret, byte[] body, String signatureHeader) {
+        if (secret == null || secret.isEmpty() || signatureHeader == null || !signatureHeader.startsWith(PREFIX)) {
+            return false;
+        }
+        // 비교 시간으로 서명을 추측할 수 없도록 상수 시간 비교
+        return MessageDigest.isEqual(sign(secret, body).getBytes(StandardCharsets.US_ASCII),
+                signatureHeader.getBytes(StandardCharsets.US_ASCII));
+    }
+}
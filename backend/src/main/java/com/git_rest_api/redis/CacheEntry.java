@@ -0,0 +1,5 @@
+package com.git_rest_api.redis;
+
+// Redis/L1에 저장되는 값과 저장 시각 (soft TTL 경과 여부 판단용)
+public record CacheEntry(Object value, long storedAtMillis) {
+}
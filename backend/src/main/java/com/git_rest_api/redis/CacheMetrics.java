@@ -0,0 +1,86 @@
+package com.git_rest_api.redis;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 캐시 키 namespace(commits, commit_detail, file_diff, user_repos 등)별 조회 결과와 로드 시간.
+ * - cache.requests{namespace, result=hit|stale|miss, tier}: tier는 값을 찾은 계층 (local, redis, heap, spill, none)
+ * - cache.hit_ratio{namespace}: 시작 이후 (hit + stale) / 전체 조회
+ * - cache.load{namespace, outcome}: 캐시 미스로 원본에서 가져오는 데 걸린 시간 (히스토그램)
+ */
+@Component
+public class CacheMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<String, HitRatio> ratios = new ConcurrentHashMap<>();
+
+    private static class HitRatio {
+        final LongAdder hits = new LongAdder();
+        final LongAdder total = new LongAdder();
+
+        double value() {
+            long requests = total.sum();
+            return requests == 0 ? Double.NaN : (double) hits.sum() / requests;
+        }
+    }
+
+    public CacheMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void hit(String key, String tier) {
+        record(key, "hit", tier);
+    }
+
+    // soft TTL이 지난 값으로 응답한 경우 (응답은 캐시에서 나가므로 적중으로 계산)
+    public void stale(String key, String tier) {
+        record(key, "stale", tier);
+    }
+
+    public void miss(String key) {
+        record(key, "miss", "none");
+    }
+
+    public <T> T timeLoad(String key, CacheService.Loader<T> loader) throws IOException {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return loader.load();
+        } catch (IOException | RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            Timer.builder("cache.load")
+                    .tag("namespace", CacheProperties.namespaceOf(key))
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void record(String key, String result, String tier) {
+        String namespace = CacheProperties.namespaceOf(key);
+        meterRegistry.counter("cache.requests", "namespace", namespace, "result", result, "tier", tier).increment();
+
+        HitRatio ratio = ratios.computeIfAbsent(namespace, name -> {
+            HitRatio created = new HitRatio();
+            Gauge.builder("cache.hit_ratio", created, HitRatio::value)
+                    .tag("namespace", name)
+                    .register(meterRegistry);
+            return created;
+        });
+        ratio.total.increment();
+        if (!"miss".equals(result)) {
+            ratio.hits.increment();
+        }
+    }
+}
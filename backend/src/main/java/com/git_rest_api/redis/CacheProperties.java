@@ -0,0 +1,49 @@
+package com.git_rest_api.redis;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 캐시 키 namespace(commits, commit_detail, file_diff, user_repos 등)별 설정.
+ * 키의 첫 ':' 앞부분이 namespace 이름이 된다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+    private static final Namespace DEFAULT = new Namespace();
+
+    private Map<String, Namespace> namespaces = new HashMap<>();
+
+    public Namespace namespace(String key) {
+        return namespaces.getOrDefault(namespaceOf(key), DEFAULT);
+    }
+
+    public static String namespaceOf(String key) {
+        int separator = key.indexOf(':');
+        return separator > 0 ? key.substring(0, separator) : key;
+    }
+
+    @Getter
+    @Setter
+    public static class Namespace {
+        // Redis 만료 시간 (hard TTL, 이후에는 캐시 미스)
+        private Duration ttl = Duration.ofMinutes(10);
+        // 이 시간이 지난 값은 바로 응답하고 백그라운드에서 갱신 (없거나 ttl 이상이면 사용 안 함)
+        private Duration softTtl;
+        // 노드 내 L1 캐시 최대 항목 수 (0이면 L1 사용 안 함)
+        private long localMaxSize = 0;
+        // L1 캐시 만료 시간 (ttl보다 짧게 설정)
+        private Duration localTtl = Duration.ofMinutes(1);
+
+        public boolean isStale(long storedAtMillis, long nowMillis) {
+            return softTtl != null && softTtl.compareTo(ttl) < 0 && nowMillis - storedAtMillis >= softTtl.toMillis();
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.git_rest_api.redis;
+
+// fromCache: 캐시에서 응답했는지, stale: soft TTL이 지난 값이라 백그라운드 갱신을 시작했는지
+public record CacheResult<T>(T value, boolean fromCache, boolean stale) {
+}
@@ -0,0 +1,338 @@
+package com.git_rest_api.redis;
+
+import com.git_rest_api.github.ratelimit.GithubCallScheduler;
+import com.git_rest_api.github.ratelimit.GithubRateLimitException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * L1(노드 내) -> Redis 순으로 캐시를 조회하고 없으면 GitHub에서 가져와 저장하는 공통 처리.
+ * 같은 키에 대한 동시 캐시 미스는 노드당 한 번만 upstream을 호출하고 나머지 요청은 그 결과를 공유한다.
+ * cache.single-flight.redis-lock=true 이면 Redis 락으로 클러스터 전체에서 한 번만 호출한다.
+ * 값을 새로 저장하거나 삭제하면 pub/sub로 다른 노드의 L1 캐시를 무효화한다.
+ * namespace에 soft-ttl이 있으면 그 이후의 값은 바로 응답하고 백그라운드(BACKGROUND 우선순위)에서 갱신한다.
+ */
+@Component
+public class CacheService implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "cache:invalidate";
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws IOException;
+    }
+
+    private static final DefaultRedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final long LOCK_POLL_MILLIS = 50;
+
+    // 진행 중인 로드와 그 로드를 시작한 요청의 우선순위
+    private record Flight(CompletableFuture<Object> result, GithubCallScheduler.Priority priority) {
+    }
+
+    // 자신이 보낸 무효화 메시지를 구분하기 위한 노드 식별자
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final LocalCache localCache;
+    private final CacheProperties cacheProperties;
+    private final MeterRegistry meterRegistry;
+    private final CacheMetrics cacheMetrics;
+    private final boolean redisLock;
+    private final Duration lockTimeout;
+    private final ConcurrentHashMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+    private final GithubCallScheduler callScheduler;
+    private final ThreadPoolExecutor refreshExecutor;
+    // 백그라운드 갱신이 큐에 있거나 실행 중인 키
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    public CacheService(RedisTemplate<String, Object> redisTemplate, LocalCache localCache,
+                        CacheProperties cacheProperties, MeterRegistry meterRegistry,
+                        CacheMetrics cacheMetrics, GithubCallScheduler callScheduler,
+                        @Value("${cache.single-flight.redis-lock:false}") boolean redisLock,
+                        @Value("${cache.single-flight.lock-timeout:10s}") Duration lockTimeout,
+                        @Value("${cache.refresh.concurrency:4}") int refreshConcurrency,
+                        @Value("${cache.refresh.queue-size:100}") int refreshQueueSize) {
+        this.redisTemplate = redisTemplate;
+        this.localCache = localCache;
+        this.cacheProperties = cacheProperties;
+        this.meterRegistry = meterRegistry;
+        this.cacheMetrics = cacheMetrics;
+        this.callScheduler = callScheduler;
+        this.redisLock = redisLock;
+        this.lockTimeout = lockTimeout;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(refreshConcurrency, refreshConcurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(refreshQueueSize), runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public <T> T getOrLoad(String key, Class<T> type, Loader<T> loader) throws IOException {
+        return lookup(key, type, loader).value();
+    }
+
+    /**
+     * 캐시된 값이 type이 아니면(이전 포맷으로 저장된 값 등) 캐시 미스로 처리하고 새로 저장한다.
+     * soft TTL이 지난 값은 그대로 반환하고 키별로 한 번만 백그라운드 갱신을 시작한다.
+     */
+    public <T> CacheResult<T> lookup(String key, Class<T> type, Loader<T> loader) throws IOException {
+        CacheEntry entry = entryOf(localCache.get(key));
+        String tier = "local";
+        if (entry == null || !type.isInstance(entry.value())) {
+            entry = entryOf(redisTemplate.opsForValue().get(key));
+            tier = "redis";
+            if (entry != null && type.isInstance(entry.value())) {
+                localCache.put(key, entry);
+            }
+        }
+
+        if (entry != null && type.isInstance(entry.value())) {
+            boolean stale = cacheProperties.namespace(key).isStale(entry.storedAtMillis(), System.currentTimeMillis());
+            if (stale) {
+                cacheMetrics.stale(key, tier);
+                refreshInBackground(key, loader);
+            } else {
+                cacheMetrics.hit(key, tier);
+            }
+            return new CacheResult<>(type.cast(entry.value()), true, stale);
+        }
+
+        cacheMetrics.miss(key);
+        T value = singleFlight(key, () -> {
+            T loaded = loader.load();
+            put(key, loaded);
+            return loaded;
+        }, () -> {
+            CacheEntry rechecked = entryOf(redisTemplate.opsForValue().get(key));
+            return rechecked != null && type.isInstance(rechecked.value()) ? type.cast(rechecked.value()) : null;
+        });
+        return new CacheResult<>(value, false, false);
+    }
+
+    // 저장 시각이 없는 이전 값은 방금 저장된 것으로 간주
+    private static CacheEntry entryOf(Object stored) {
+        if (stored == null || stored instanceof CacheEntry) {
+            return (CacheEntry) stored;
+        }
+        return new CacheEntry(stored, System.currentTimeMillis());
+    }
+
+    private <T> void refreshInBackground(String key, Loader<T> loader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> callScheduler.runInBackground(() -> {
+                try {
+                    // 같은 키의 사용자 요청 캐시 미스와도 합쳐짐
+                    singleFlight(key, () -> {
+                        T loaded = loader.load();
+                        put(key, loaded);
+                        return loaded;
+                    }, () -> null);
+                    countRefresh(key, "refreshed");
+                } catch (GithubRateLimitException e) {
+                    countRefresh(key, "skipped_budget");
+                } catch (IOException | RuntimeException e) {
+                    countRefresh(key, "failed");
+                } finally {
+                    refreshing.remove(key);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+            countRefresh(key, "dropped");
+        }
+    }
+
+    // 로더 없이 캐시된 값만 조회 (없거나 type이 아니면 null)
+    public <T> T peek(String key, Class<T> type) {
+        CacheEntry entry = entryOf(localCache.get(key));
+        if (entry == null) {
+            entry = entryOf(redisTemplate.opsForValue().get(key));
+        }
+        return entry != null && type.isInstance(entry.value()) ? type.cast(entry.value()) : null;
+    }
+
+    public boolean isCached(String key) {
+        return localCache.get(key) != null || Boolean.TRUE.equals(redisTemplate.hasKey(key));
+    }
+
+    // 저장 시각과 함께 namespace TTL(hard)로 Redis에 저장하고 다른 노드의 L1에 남아 있을 이전 값을 무효화
+    public void put(String key, Object value) {
+        CacheEntry entry = new CacheEntry(value, System.currentTimeMillis());
+        redisTemplate.opsForValue().set(key, entry, cacheProperties.namespace(key).getTtl());
+        localCache.put(key, entry);
+        publishInvalidation(key);
+    }
+
+    public void evict(String key) {
+        redisTemplate.delete(key);
+        localCache.invalidate(key);
+        publishInvalidation(key);
+    }
+
+    private void publishInvalidation(String key) {
+        if (cacheProperties.namespace(key).getLocalMaxSize() > 0) {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "|" + key);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(body instanceof String payload)) {
+            return;
+        }
+        int separator = payload.indexOf('|');
+        if (separator > 0 && !payload.substring(0, separator).equals(nodeId)) {
+            localCache.invalidate(payload.substring(separator + 1));
+        }
+    }
+
+    /**
+     * key 단위로 loader 실행을 하나로 합친다.
+     * recheck는 로드 직전과 락을 기다린 뒤(또는 락을 얻은 직후) 이미 채워진 값을 확인하는 용도로, 없으면 null을 반환한다.
+     * 결과는 cache.single_flight{result}에 한 번만 집계한다: loaded, coalesced(같은 노드의 로드에 합류),
+     * rechecked(직전 로드가 채운 값), coalesced_remote(다른 노드가 채운 값).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T singleFlight(String key, Loader<T> loader, Supplier<T> recheck) throws IOException {
+        Flight flight = new Flight(new CompletableFuture<>(), callScheduler.currentPriority());
+        Flight existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            T shared;
+            try {
+                shared = (T) await(existing.result());
+            } catch (GithubRateLimitException e) {
+                // 백그라운드 로드는 예약분(background-reserve)이 커서 먼저 거절되므로, 사용자 요청은 자기 우선순위로 다시 시도
+                if (existing.priority() == GithubCallScheduler.Priority.BACKGROUND
+                        && flight.priority() == GithubCallScheduler.Priority.INTERACTIVE) {
+                    inFlight.remove(key, existing);
+                    return singleFlight(key, loader, recheck);
+                }
+                throw e;
+            }
+            count(key, "coalesced");
+            return shared;
+        }
+
+        CompletableFuture<Object> mine = flight.result();
+
+        try {
+            // 직전에 끝난 로드가 이미 채운 값이 있으면 다시 가져오지 않음
+            T value = recheck.get();
+            if (value != null) {
+                count(key, "rechecked");
+                mine.complete(value);
+                return value;
+            }
+
+            // 결과는 한 가지로만 집계 (loaded: 직접 가져옴, coalesced_remote: 다른 노드가 채운 값)
+            boolean[] loaded = new boolean[1];
+            Loader<T> counted = () -> {
+                loaded[0] = true;
+                return loader.load();
+            };
+            // 로드 시간에는 다른 노드를 기다린 시간도 포함됨 (redis-lock 사용 시)
+            value = cacheMetrics.timeLoad(key,
+                    () -> redisLock ? loadWithLock(key, counted, recheck) : counted.load());
+            count(key, loaded[0] ? "loaded" : "coalesced_remote");
+            mine.complete(value);
+            return value;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private <T> T loadWithLock(String key, Loader<T> loader, Supplier<T> recheck) throws IOException {
+        String lockKey = "lock:" + key;
+        String token = UUID.randomUUID().toString();
+        long deadline = System.currentTimeMillis() + lockTimeout.toMillis();
+
+        while (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, lockTimeout))) {
+            // 다른 노드가 가져오는 중이면 값이 채워질 때까지 대기
+            T value = recheck.get();
+            if (value != null) {
+                return value;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                return loader.load();
+            }
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for cache lock: " + key, e);
+            }
+        }
+
+        try {
+            T value = recheck.get();
+            return value != null ? value : loader.load();
+        } finally {
+            redisTemplate.execute(UNLOCK_SCRIPT, List.of(lockKey), token);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for shared fetch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void countRefresh(String key, String result) {
+        meterRegistry.counter("cache.refresh",
+                "namespace", CacheProperties.namespaceOf(key), "result", result).increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void count(String key, String result) {
+        meterRegistry.counter("cache.single_flight",
+                "namespace", CacheProperties.namespaceOf(key), "result", result).increment();
+    }
+}
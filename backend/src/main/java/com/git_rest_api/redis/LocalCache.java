@@ -0,0 +1,51 @@
+package com.git_rest_api.redis;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Redis 앞단의 노드 내 L1 캐시. namespace별로 크기와 만료 시간이 제한된 캐시를 따로 둔다.
+ * 다른 노드에서 값이 바뀌면 CacheService가 pub/sub 메시지를 받아 invalidate 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalCache {
+
+    private final CacheProperties cacheProperties;
+    private final ConcurrentHashMap<String, Cache<String, Object>> caches = new ConcurrentHashMap<>();
+
+    public Object get(String key) {
+        Cache<String, Object> cache = cache(key);
+        return cache != null ? cache.getIfPresent(key) : null;
+    }
+
+    public void put(String key, Object value) {
+        Cache<String, Object> cache = cache(key);
+        if (cache != null && value != null) {
+            cache.put(key, value);
+        }
+    }
+
+    public void invalidate(String key) {
+        Cache<String, Object> cache = caches.get(CacheProperties.namespaceOf(key));
+        if (cache != null) {
+            cache.invalidate(key);
+        }
+    }
+
+    private Cache<String, Object> cache(String key) {
+        String namespace = CacheProperties.namespaceOf(key);
+        CacheProperties.Namespace config = cacheProperties.namespace(key);
+        if (config.getLocalMaxSize() <= 0) {
+            return null;
+        }
+        return caches.computeIfAbsent(namespace, name -> Caffeine.newBuilder()
+                .maximumSize(config.getLocalMaxSize())
+                .expireAfterWrite(config.getLocalTtl())
+                .build());
+    }
+}
@@ -1,6 +1,16 @@
 package com.git_rest_api.redis;
 
+import com.git_rest_api.github.diff.DiffIndex;
+import com.git_rest_api.github.diff.FileDiff;
+import com.git_rest_api.github.dto.ChangedFile;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitSummary;
+import com.git_rest_api.github.dto.RepoSummary;
+import com.git_rest_api.redis.codec.CompactCodec;
+import com.git_rest_api.redis.codec.CompactRedisSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,8 +19,11 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -23,6 +36,7 @@ import java.util.Map;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
 public class RedisConfig {
 
     @Value("${spring.data.redis.host}")
@@ -44,14 +58,31 @@ public class RedisConfig {
         return mapper;
     }
 
+    // 캐시 record 타입 ID (저장된 데이터에 기록되므로 변경 금지, 새 타입은 다음 번호로 추가)
     @Bean
-    public GenericJackson2JsonRedisSerializer genericJackson2JsonRedisSerializer(ObjectMapper objectMapper) {
-        return new GenericJackson2JsonRedisSerializer(objectMapper);
+    public CompactCodec compactCodec(@Value("${cache.codec.compress-threshold:512}") int compressThreshold) {
+        return new CompactCodec(compressThreshold)
+                .register(1, RepoSummary.class)
+                .register(2, CommitSummary.class)
+                .register(3, CommitPage.class)
+                .register(4, ChangedFile.class)
+                .register(5, CommitDetail.class)
+                .register(6, FileDiff.class)
+                .register(7, CacheEntry.class)
+                .register(8, DiffIndex.class);
+    }
+
+    // cache.codec.format=compact 이면 바이너리 포맷으로 저장하고, 이전 JSON 값은 그대로 읽음
+    @Bean
+    public RedisSerializer<Object> cacheValueSerializer(ObjectMapper objectMapper, CompactCodec compactCodec,
+                                                        @Value("${cache.codec.format:compact}") String format) {
+        GenericJackson2JsonRedisSerializer json = new GenericJackson2JsonRedisSerializer(objectMapper);
+        return "json".equals(format) ? json : new CompactRedisSerializer(compactCodec, json);
     }
 
     @Bean
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
-                                                       GenericJackson2JsonRedisSerializer serializer) {
+                                                       RedisSerializer<Object> serializer) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(connectionFactory);
         redisTemplate.setKeySerializer(new StringRedisSerializer());
@@ -62,9 +93,30 @@ public class RedisConfig {
         return redisTemplate;
     }
 
+    // 압축된 바이트를 그대로 저장하는 불변 객체용 템플릿
+    @Bean
+    public RedisTemplate<String, byte[]> binaryRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(connectionFactory);
+        redisTemplate.setKeySerializer(new StringRedisSerializer());
+        redisTemplate.setValueSerializer(RedisSerializer.byteArray());
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+
+    // 다른 노드에서 보낸 L1 캐시 무효화 메시지 수신
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       CacheService cacheService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheService, new ChannelTopic(CacheService.INVALIDATION_CHANNEL));
+        return container;
+    }
+
     @Bean
     public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory,
-                                          GenericJackson2JsonRedisSerializer serializer) {
+                                          RedisSerializer<Object> serializer) {
         RedisCacheConfiguration cacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
                 .entryTtl(Duration.ofMinutes(10))  // 30분에서 10분으로 변경
                 .disableCachingNullValues()
@@ -0,0 +1,384 @@
+package com.git_rest_api.redis.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 캐시 값을 위한 작은 바이너리 포맷.
+ * 헤더 [MAGIC][VERSION][FLAGS] 뒤에 태그가 붙은 값이 이어지며, 등록된 record는 클래스 이름 대신 숫자 타입 ID로 기록한다.
+ * record 필드는 선언 순서대로 개수와 함께 기록하므로 필드를 끝에 추가해도 이전 값을 읽을 수 있다 (없는 필드는 null/0).
+ * 본문이 임계값 이상이면 Deflate로 압축한다.
+ */
+public class CompactCodec {
+
+    public static final byte MAGIC = (byte) 0xC7;
+    public static final byte VERSION = 1;
+    private static final int FLAG_DEFLATED = 1;
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int INT = 2;
+    private static final int LONG = 3;
+    private static final int TRUE = 4;
+    private static final int FALSE = 5;
+    private static final int DOUBLE = 6;
+    private static final int INSTANT = 7;
+    private static final int DATE = 8;
+    private static final int LIST = 9;
+    private static final int MAP = 10;
+    private static final int RECORD = 11;
+
+    private final int compressThreshold;
+    private final Map<Class<?>, RecordType> typesByClass = new ConcurrentHashMap<>();
+    private final Map<Integer, RecordType> typesById = new ConcurrentHashMap<>();
+
+    public CompactCodec(int compressThreshold) {
+        this.compressThreshold = compressThreshold;
+    }
+
+    // 지원하지 않는 타입이 포함된 값 (호출하는 쪽에서 다른 포맷으로 저장)
+    public static class UnsupportedValueException extends RuntimeException {
+        public UnsupportedValueException(Class<?> type) {
+            super("Unsupported cache value type: " + type.getName());
+        }
+    }
+
+    private record RecordType(int id, Class<?> type, RecordComponent[] components, Constructor<?> constructor) {
+    }
+
+    // 타입 ID는 저장된 데이터에 기록되므로 한 번 정한 ID는 바꾸지 않는다
+    public CompactCodec register(int id, Class<? extends Record> type) {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            parameterTypes[i] = components[i].getType();
+            components[i].getAccessor().setAccessible(true);
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            RecordType recordType = new RecordType(id, type, components, constructor);
+            if (typesById.putIfAbsent(id, recordType) != null) {
+                throw new IllegalArgumentException("Duplicate codec type id: " + id);
+            }
+            typesByClass.put(type, recordType);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return this;
+    }
+
+    public static boolean isEncoded(byte[] bytes) {
+        return bytes != null && bytes.length >= 3 && bytes[0] == MAGIC;
+    }
+
+    public byte[] encode(Object value) {
+        Output body = new Output(256);
+        writeValue(body, value);
+
+        Output out = new Output(body.size() + 8);
+        out.write(MAGIC);
+        out.write(VERSION);
+        if (body.size() >= compressThreshold) {
+            byte[] deflated = deflate(body.buffer(), body.size());
+            if (deflated.length < body.size()) {
+                out.write(FLAG_DEFLATED);
+                out.writeVarLong(body.size());
+                out.write(deflated, 0, deflated.length);
+                return out.toByteArray();
+            }
+        }
+        out.write(0);
+        out.write(body.buffer(), 0, body.size());
+        return out.toByteArray();
+    }
+
+    public Object decode(byte[] bytes) {
+        if (!isEncoded(bytes)) {
+            throw new IllegalArgumentException("Not a compact codec value");
+        }
+        if (bytes[1] != VERSION) {
+            throw new IllegalArgumentException("Unknown compact codec version: " + bytes[1]);
+        }
+        Input in = new Input(bytes, 3);
+        if ((bytes[2] & FLAG_DEFLATED) != 0) {
+            int length = (int) in.readVarLong();
+            in = new Input(inflate(bytes, in.position, length), 0);
+        }
+        return readValue(in);
+    }
+
+    private void writeValue(Output out, Object value) {
+        if (value == null) {
+            out.write(NULL);
+        } else if (value instanceof String s) {
+            out.write(STRING);
+            out.writeString(s);
+        } else if (value instanceof Integer i) {
+            out.write(INT);
+            out.writeVarLong(zigzag(i));
+        } else if (value instanceof Long l) {
+            out.write(LONG);
+            out.writeVarLong(zigzag(l));
+        } else if (value instanceof Boolean b) {
+            out.write(b ? TRUE : FALSE);
+        } else if (value instanceof Double d) {
+            out.write(DOUBLE);
+            out.writeLong(Double.doubleToLongBits(d));
+        } else if (value instanceof Instant instant) {
+            out.write(INSTANT);
+            out.writeVarLong(zigzag(instant.getEpochSecond()));
+            out.writeVarLong(instant.getNano());
+        } else if (value instanceof Date date) {
+            out.write(DATE);
+            out.writeVarLong(zigzag(date.getTime()));
+        } else if (value instanceof List<?> list) {
+            out.write(LIST);
+            out.writeVarLong(list.size());
+            for (Object item : list) {
+                writeValue(out, item);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.write(MAP);
+            out.writeVarLong(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!(entry.getKey() instanceof String key)) {
+                    throw new UnsupportedValueException(entry.getKey() == null ? Object.class : entry.getKey().getClass());
+                }
+                out.writeString(key);
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            RecordType type = typesByClass.get(value.getClass());
+            if (type == null) {
+                throw new UnsupportedValueException(value.getClass());
+            }
+            out.write(RECORD);
+            out.writeVarLong(type.id());
+            out.writeVarLong(type.components().length);
+            for (RecordComponent component : type.components()) {
+                try {
+                    writeValue(out, component.getAccessor().invoke(value));
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    private Object readValue(Input in) {
+        int tag = in.read();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                return in.readString();
+            case INT:
+                return (int) unzigzag(in.readVarLong());
+            case LONG:
+                return unzigzag(in.readVarLong());
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case DOUBLE:
+                return Double.longBitsToDouble(in.readLong());
+            case INSTANT:
+                return Instant.ofEpochSecond(unzigzag(in.readVarLong()), in.readVarLong());
+            case DATE:
+                return new Date(unzigzag(in.readVarLong()));
+            case LIST: {
+                int size = (int) in.readVarLong();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case MAP: {
+                int size = (int) in.readVarLong();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(in.readString(), readValue(in));
+                }
+                return map;
+            }
+            case RECORD:
+                return readRecord(in);
+            default:
+                throw new IllegalArgumentException("Unknown compact codec tag: " + tag);
+        }
+    }
+
+    private Object readRecord(Input in) {
+        int id = (int) in.readVarLong();
+        RecordType type = typesById.get(id);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown compact codec type id: " + id);
+        }
+        int stored = (int) in.readVarLong();
+        RecordComponent[] components = type.components();
+        Object[] args = new Object[components.length];
+        for (int i = 0; i < stored; i++) {
+            Object value = readValue(in);
+            // 새 버전에서 추가된 뒤쪽 필드는 건너뜀
+            if (i < components.length) {
+                args[i] = value;
+            }
+        }
+        // 이전 버전에 없던 필드는 기본값으로 채움
+        for (int i = 0; i < components.length; i++) {
+            if (args[i] == null && components[i].getType().isPrimitive()) {
+                args[i] = defaultValue(components[i].getType());
+            }
+        }
+        try {
+            return type.constructor().newInstance(args);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Failed to create " + type.type().getName(), e);
+        }
+    }
+
+    private static Object defaultValue(Class<?> primitive) {
+        if (primitive == boolean.class) return false;
+        if (primitive == long.class) return 0L;
+        if (primitive == double.class) return 0d;
+        return 0;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static byte[] deflate(byte[] data, int length) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        deflater.setInput(data, 0, length);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(length / 4 + 16);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(buffer);
+            out.write(buffer, 0, n);
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] data, int offset, int length) {
+        Inflater inflater = new Inflater();
+        inflater.setInput(data, offset, data.length - offset);
+        byte[] out = new byte[length];
+        try {
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(out, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.finished())) {
+                    throw new IllegalArgumentException("Truncated compact codec value");
+                }
+                read += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupted compact codec value", e);
+        } finally {
+            inflater.end();
+        }
+        return out;
+    }
+
+    // 복사 없이 내부 버퍼를 꺼낼 수 있는 출력 버퍼
+    private static class Output extends ByteArrayOutputStream {
+
+        Output(int size) {
+            super(size);
+        }
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarLong(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static class Input {
+
+        private final byte[] data;
+        private int position;
+
+        Input(byte[] data, int position) {
+            this.data = data;
+            this.position = position;
+        }
+
+        int read() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("Truncated compact codec value");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        long readLong() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            if (length > data.length - position) {
+                throw new IllegalArgumentException("Truncated compact codec value");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.git_rest_api.redis.codec;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * CompactCodec으로 캐시 값을 저장하는 RedisSerializer.
+ * 헤더가 없는 값(이전에 JSON으로 저장된 값)은 legacy serializer로 읽고,
+ * CompactCodec이 지원하지 않는 타입이 포함된 값도 legacy serializer로 저장한다.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    private final CompactCodec codec;
+    private final RedisSerializer<Object> legacy;
+
+    public CompactRedisSerializer(CompactCodec codec, RedisSerializer<Object> legacy) {
+        this.codec = codec;
+        this.legacy = legacy;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        try {
+            return codec.encode(value);
+        } catch (CompactCodec.UnsupportedValueException e) {
+            return legacy.serialize(value);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (!CompactCodec.isEncoded(bytes)) {
+            return legacy.deserialize(bytes);
+        }
+        try {
+            return codec.decode(bytes);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new SerializationException("Could not read compact cache value", e);
+        }
+    }
+}
@@ -21,6 +21,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // GitHub webhook은 로그인 대신 HMAC 서명으로 검증
+                        .requestMatchers("/api/webhooks/**").permitAll()
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().permitAll())
                 .oauth2Login(oauth2 -> oauth2.defaultSuccessUrl("/api/user", true));
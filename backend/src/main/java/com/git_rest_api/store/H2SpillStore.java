@@ -0,0 +1,43 @@
+package com.git_rest_api.store;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * 클래스패스에 있는 H2를 파일 모드로 열어 불변 객체를 저장한다.
+ * 애플리케이션 DataSource와는 별도의 DB 파일을 사용한다.
+ */
+public class H2SpillStore implements SpillStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public H2SpillStore(String url) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS immutable_object ("
+                + "object_key VARCHAR(2048) PRIMARY KEY, payload BLOB NOT NULL)");
+    }
+
+    @Override
+    public byte[] get(String key) {
+        List<byte[]> rows = jdbcTemplate.query("SELECT payload FROM immutable_object WHERE object_key = ?",
+                (rs, rowNum) -> rs.getBytes(1), key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public boolean contains(String key) {
+        List<Integer> rows = jdbcTemplate.query("SELECT 1 FROM immutable_object WHERE object_key = ?",
+                (rs, rowNum) -> rs.getInt(1), key);
+        return !rows.isEmpty();
+    }
+
+    @Override
+    public void put(String key, byte[] value) {
+        jdbcTemplate.update("MERGE INTO immutable_object (object_key, payload) KEY (object_key) VALUES (?, ?)",
+                key, value);
+    }
+}
@@ -0,0 +1,212 @@
+package com.git_rest_api.store;
+
+import com.git_rest_api.redis.CacheMetrics;
+import com.git_rest_api.redis.CacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 커밋 SHA로 주소가 정해지는(내용이 바뀌지 않는) 데이터 저장소.
+ * 힙(압축된 바이트, 크기 기준 LRU) -> Redis(TTL 없음) -> spill(H2 또는 파일, 선택) 순으로 조회하며
+ * 만료 시간이 없으므로 한 번 가져온 커밋은 밀려나지 않는 한 GitHub을 다시 호출하지 않는다.
+ * Redis 쪽 용량은 서버의 maxmemory-policy(allkeys-lru 등)로 관리한다.
+ */
+@Component
+public class ImmutableObjectStore {
+
+    // 이전 버전의 저장 형식 헤더 (읽기 전용)
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private final RedisTemplate<String, byte[]> binaryRedisTemplate;
+    private final RedisSerializer<Object> serializer;
+    private final CacheService cacheService;
+    private final CacheMetrics cacheMetrics;
+    private final SpillStore spillStore;
+    private final Cache<String, byte[]> heap;
+
+    public ImmutableObjectStore(RedisTemplate<String, byte[]> binaryRedisTemplate,
+                                RedisSerializer<Object> serializer,
+                                CacheService cacheService, CacheMetrics cacheMetrics,
+                                @Value("${immutable-store.heap-max-bytes:67108864}") long heapMaxBytes,
+                                @Value("${immutable-store.spill:none}") String spill,
+                                @Value("${immutable-store.h2-url:jdbc:h2:file:./data/immutable-store}") String h2Url,
+                                @Value("${immutable-store.spill-dir:./data/immutable-store}") String spillDir) {
+        this.binaryRedisTemplate = binaryRedisTemplate;
+        this.serializer = serializer;
+        this.cacheService = cacheService;
+        this.cacheMetrics = cacheMetrics;
+        this.spillStore = switch (spill) {
+            case "h2" -> new H2SpillStore(h2Url);
+            case "file" -> new FileSpillStore(Path.of(spillDir));
+            default -> null;
+        };
+        this.heap = Caffeine.newBuilder()
+                .maximumWeight(heapMaxBytes)
+                .weigher((String key, byte[] value) -> value.length)
+                .removalListener((String key, byte[] value, RemovalCause cause) -> {
+                    // 용량 때문에 밀려난 값만 spill
+                    if (spillStore != null && cause == RemovalCause.SIZE && key != null && value != null) {
+                        spillStore.put(key, value);
+                    }
+                })
+                .build();
+    }
+
+    public <T> T get(String key) {
+        return read(key, true);
+    }
+
+    // 적중률에 포함하지 않는 조회 (인덱스 표시 값, 재확인, 프리페처의 저장 여부 확인 등)
+    public <T> T peek(String key) {
+        return read(key, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(String key, boolean recordMetrics) {
+        byte[] stored = heap.getIfPresent(key);
+        String tier = "heap";
+        if (stored == null) {
+            stored = binaryRedisTemplate.opsForValue().get(key);
+            tier = "redis";
+            if (stored == null && spillStore != null) {
+                stored = spillStore.get(key);
+                tier = "spill";
+            }
+            if (stored == null) {
+                if (recordMetrics) {
+                    cacheMetrics.miss(key);
+                }
+                return null;
+            }
+            heap.put(key, stored);
+        }
+        if (recordMetrics) {
+            cacheMetrics.hit(key, tier);
+        }
+        return (T) serializer.deserialize(decode(stored));
+    }
+
+    // 값을 읽지 않고(압축 해제/역직렬화 없이) 저장 여부만 확인
+    public boolean contains(String key) {
+        if (heap.getIfPresent(key) != null || Boolean.TRUE.equals(binaryRedisTemplate.hasKey(key))) {
+            return true;
+        }
+        return spillStore != null && spillStore.contains(key);
+    }
+
+    // 힙에 없는 키만 MGET 한 번으로 Redis에서 읽음 (없는 키는 결과에 포함되지 않음)
+    public Map<String, Object> getAll(List<String> keys) {
+        Map<String, byte[]> found = new HashMap<>(heap.getAllPresent(keys));
+        List<String> remaining = new ArrayList<>();
+        for (String key : keys) {
+            if (found.containsKey(key)) {
+                cacheMetrics.hit(key, "heap");
+            } else {
+                remaining.add(key);
+            }
+        }
+
+        if (!remaining.isEmpty()) {
+            List<byte[]> values = binaryRedisTemplate.opsForValue().multiGet(remaining);
+            for (int i = 0; i < remaining.size(); i++) {
+                byte[] stored = values != null ? values.get(i) : null;
+                String tier = "redis";
+                if (stored == null && spillStore != null) {
+                    stored = spillStore.get(remaining.get(i));
+                    tier = "spill";
+                }
+                if (stored != null) {
+                    cacheMetrics.hit(remaining.get(i), tier);
+                    heap.put(remaining.get(i), stored);
+                    found.put(remaining.get(i), stored);
+                } else {
+                    cacheMetrics.miss(remaining.get(i));
+                }
+            }
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        found.forEach((key, stored) -> result.put(key, serializer.deserialize(decode(stored))));
+        return result;
+    }
+
+    // 압축 여부는 serializer(CompactCodec)가 판단하므로 직렬화 결과를 그대로 저장
+    public void put(String key, Object value) {
+        byte[] stored = serializer.serialize(value);
+        heap.put(key, stored);
+        binaryRedisTemplate.opsForValue().set(key, stored);
+    }
+
+    // 여러 값을 MSET 한 번으로 저장
+    public void putAll(Map<String, ?> values) {
+        Map<String, byte[]> stored = new HashMap<>();
+        values.forEach((key, value) -> stored.put(key, serializer.serialize(value)));
+        heap.putAll(stored);
+        binaryRedisTemplate.opsForValue().multiSet(stored);
+    }
+
+    // 저장된 값이 type이 아니면(이전 포맷으로 저장된 값 등) 다시 가져와서 덮어씀
+    public <T> T getOrLoad(String key, Class<T> type, CacheService.Loader<T> loader) throws IOException {
+        Object stored = get(key);
+        if (type.isInstance(stored)) {
+            return type.cast(stored);
+        }
+
+        return cacheService.singleFlight(key, () -> {
+            T value = loader.load();
+            put(key, value);
+            return value;
+        }, () -> {
+            Object rechecked = read(key, false);
+            return type.isInstance(rechecked) ? type.cast(rechecked) : null;
+        });
+    }
+
+    // 이전 버전이 남긴 값은 앞에 압축 여부 1바이트(RAW/DEFLATED)가 붙어 있음
+    private static byte[] decode(byte[] stored) {
+        return stored.length > 0 && (stored[0] == RAW || stored[0] == DEFLATED) ? decompress(stored) : stored;
+    }
+
+    private static byte[] decompress(byte[] stored) {
+        if (stored[0] == RAW) {
+            byte[] data = new byte[stored.length - 1];
+            System.arraycopy(stored, 1, data, 0, data.length);
+            return data;
+        }
+
+        Inflater inflater = new Inflater();
+        inflater.setInput(stored, 1, stored.length - 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream(stored.length * 4);
+        byte[] buffer = new byte[8192];
+        try {
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("Truncated immutable object");
+                }
+                out.write(buffer, 0, n);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupted immutable object", e);
+        } finally {
+            inflater.end();
+        }
+        return out.toByteArray();
+    }
+}
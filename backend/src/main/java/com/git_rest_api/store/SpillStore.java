@@ -0,0 +1,12 @@
+package com.git_rest_api.store;
+
+// 힙에서 밀려난 불변 객체를 보관하는 로컬 저장소 (압축된 바이트 그대로 저장)
+public interface SpillStore {
+
+    byte[] get(String key);
+
+    // 값을 읽지 않고 저장 여부만 확인
+    boolean contains(String key);
+
+    void put(String key, byte[] value);
+}
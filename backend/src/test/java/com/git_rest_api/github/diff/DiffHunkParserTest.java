@@ -0,0 +1,50 @@
+package com.git_rest_api.github.diff;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiffHunkParserTest {
+
+    private static final String FILE_DIFF = """
+            diff --git a/App.java b/App.java
+            --- a/App.java
+            +++ b/App.java
+            @@ -1,3 +1,3 @@ class App {
+             class App {
+            -    int a = 1;
+            +    int a = 2;
+             }
+            @@ -10 +10,2 @@
+             void run() {
+            +    log();
+            """;
+
+    @Test
+    void assignsLineNumbersPerHunk() {
+        HunkWindow window = DiffHunkParser.parse(FILE_DIFF);
+
+        assertEquals(2, window.totalHunks());
+        DiffHunk first = window.hunks().get(0);
+        assertEquals("class App {", first.header());
+        assertEquals(4, first.lines().size());
+        assertEquals(new DiffLine(DiffLine.Type.REMOVED, 2, null, "    int a = 1;"), first.lines().get(1));
+        assertEquals(new DiffLine(DiffLine.Type.ADDED, null, 2, "    int a = 2;"), first.lines().get(2));
+        assertEquals(new DiffLine(DiffLine.Type.CONTEXT, 3, 3, "}"), first.lines().get(3));
+
+        DiffHunk second = window.hunks().get(1);
+        assertEquals(1, second.oldLines());
+        assertEquals(new DiffLine(DiffLine.Type.ADDED, null, 11, "    log();"), second.lines().get(1));
+    }
+
+    @Test
+    void returnsOnlyRequestedWindow() {
+        HunkWindow window = DiffHunkParser.parse(FILE_DIFF, 1, 5);
+
+        assertEquals(2, window.totalHunks());
+        assertEquals(1, window.hunks().size());
+        assertEquals(10, window.hunks().get(0).oldStart());
+        assertEquals(1, window.fromHunk());
+        assertEquals(2, window.toHunk());
+    }
+}
@@ -0,0 +1,103 @@
+package com.git_rest_api.github.diff;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnifiedDiffParserTest {
+
+    private static final String DIFF = """
+            diff --git a/src/App.java b/src/App.java
+            index 1111111..2222222 100644
+            --- a/src/App.java
+            +++ b/src/App.java
+            @@ -1,3 +1,3 @@
+             class App {
+            -    int a = 1;
+            +    int a = 2;
+             }
+            diff --git a/src/App.java.orig b/src/App.java.orig
+            deleted file mode 100644
+            index 3333333..0000000
+            --- a/src/App.java.orig
+            +++ /dev/null
+            @@ -1 +0,0 @@
+            --- a/src/App.java
+            diff --git a/docs/new.md b/docs/new.md
+            new file mode 100644
+            index 0000000..4444444
+            --- /dev/null
+            +++ b/docs/new.md
+            @@ -0,0 +1 @@
+            +hello
+            """;
+
+    @Test
+    void splitsFilesWithExactPaths() throws IOException {
+        List<FileDiff> files = new ArrayList<>();
+        boolean complete = new UnifiedDiffParser(1024 * 1024).parse(stream(DIFF), files::add);
+
+        assertTrue(complete);
+        assertEquals(3, files.size());
+        assertEquals("src/App.java", files.get(0).path());
+        assertEquals("src/App.java.orig", files.get(1).oldPath());
+        assertNull(files.get(1).newPath());
+        assertNull(files.get(2).oldPath());
+        assertEquals("docs/new.md", files.get(2).newPath());
+    }
+
+    @Test
+    void findDoesNotMatchPathPrefixes() throws IOException {
+        FileDiff found = new UnifiedDiffParser(1024 * 1024).find(stream(DIFF), "src/App.java");
+
+        assertNotNull(found);
+        assertTrue(found.text().startsWith("diff --git a/src/App.java b/src/App.java\n"));
+        assertFalse(found.text().contains("deleted file mode"));
+        assertNull(new UnifiedDiffParser(1024 * 1024).find(stream(DIFF), "App.java"));
+    }
+
+    @Test
+    void renamedFileIsIndexedUnderBothPaths() throws IOException {
+        String renamed = """
+                diff --git a/src/Old.java b/src/New.java
+                similarity index 90%
+                rename from src/Old.java
+                rename to src/New.java
+                index 5555555..6666666 100644
+                --- a/src/Old.java
+                +++ b/src/New.java
+                @@ -1 +1 @@
+                -class Old {}
+                +class New {}
+                """;
+        List<FileDiff> files = new ArrayList<>();
+        new UnifiedDiffParser(1024 * 1024).parse(stream(renamed + DIFF), files::add);
+
+        assertEquals(List.of("src/New.java", "src/Old.java"), files.get(0).paths());
+        assertEquals(List.of("src/App.java"), files.get(1).paths());
+        assertEquals(List.of("src/App.java.orig"), files.get(2).paths());
+        assertEquals(List.of("docs/new.md"), files.get(3).paths());
+    }
+
+    @Test
+    void stopsAtSizeLimitAndDropsPartialFile() throws IOException {
+        List<FileDiff> files = new ArrayList<>();
+        int firstFileBytes = DIFF.indexOf("diff --git a/src/App.java.orig");
+        boolean complete = new UnifiedDiffParser(firstFileBytes + 60).parse(stream(DIFF), files::add);
+
+        assertFalse(complete);
+        assertEquals(1, files.size());
+        assertEquals("src/App.java", files.get(0).path());
+    }
+
+    private static InputStream stream(String diff) {
+        return new ByteArrayInputStream(diff.getBytes(StandardCharsets.UTF_8));
+    }
+}
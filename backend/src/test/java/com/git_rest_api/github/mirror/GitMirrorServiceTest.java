@@ -0,0 +1,169 @@
+package com.git_rest_api.github.mirror;
+
+import com.git_rest_api.github.dto.ChangedFile;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitSummary;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.RefUpdate;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitMirrorServiceTest {
+
+    @TempDir
+    Path temp;
+
+    private Git origin;
+    private GitMirrorService mirrorService;
+    private int commitCount;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // {base}/origin/{owner}/{repo} 에 원격 저장소 역할을 하는 로컬 저장소를 만듦
+        Path work = Files.createDirectories(temp.resolve("origin/octo/sample"));
+        origin = Git.init().setDirectory(work.toFile()).setInitialBranch("main").call();
+
+        GitMirrorProperties properties = new GitMirrorProperties();
+        properties.setBaseDir(temp.resolve("mirrors").toString());
+        properties.setRemoteUrl(temp.resolve("origin").toUri() + "{owner}/{repo}");
+        properties.setFetchInterval(Duration.ofHours(1));
+        properties.setRepos(List.of("octo/sample"));
+        mirrorService = new GitMirrorService(properties, "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        mirrorService.close();
+        origin.close();
+    }
+
+    @Test
+    void listsCommitsNewestFirstWithCursor() throws Exception {
+        RevCommit first = commit("a.txt", "one\n", "first");
+        RevCommit second = commit("a.txt", "one\ntwo\n", "second");
+        RevCommit third = commit("b.txt", "b\n", "third");
+
+        CommitPage page = mirrorService.listCommits("octo", "sample", 1, 2, null);
+        assertEquals(List.of(third.getName(), second.getName()), shas(page));
+        assertEquals(third.getName() + ".2", page.nextCursor());
+        assertEquals("third", page.commits().get(0).message());
+
+        CommitPage next = mirrorService.listCommits("octo", "sample", 1, 2, page.nextCursor());
+        assertEquals(List.of(first.getName()), shas(next));
+        assertNull(next.nextCursor());
+
+        CommitPage secondPage = mirrorService.listCommits("octo", "sample", 2, 2, null);
+        assertEquals(List.of(first.getName()), shas(secondPage));
+
+        // 커서는 처음 본 HEAD에 고정되므로 이후 커밋이 추가되어도 같은 목록을 이어서 봄
+        commit("c.txt", "c\n", "fourth");
+        mirrorService.markStale("octo", "sample");
+        assertEquals(List.of(first.getName()),
+                shas(mirrorService.listCommits("octo", "sample", 1, 2, page.nextCursor())));
+    }
+
+    @Test
+    void buildsCommitDetailAndDiffFromObjectDatabase() throws Exception {
+        commit("a.txt", "one\ntwo\n", "first");
+        RevCommit change = commit("a.txt", "one\nTWO\nthree\n", "change");
+
+        CommitDetail detail = mirrorService.getCommitDetail("octo", "sample", change.getName());
+        assertEquals(change.getName(), detail.commit().sha());
+        ChangedFile file = detail.changedFiles().get(0);
+        assertEquals("a.txt", file.fileName());
+        assertEquals("modified", file.status());
+        assertEquals(2, file.additions());
+        assertEquals(1, file.deletions());
+        assertTrue(file.patch().startsWith("@@"));
+        assertTrue(file.patch().contains("+TWO"));
+
+        try (InputStream in = mirrorService.openCommitDiff("octo", "sample", change.getName(), 1024 * 1024)) {
+            String diff = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(diff.startsWith("diff --git a/a.txt b/a.txt"));
+            assertTrue(diff.contains("-two"));
+        }
+    }
+
+    @Test
+    void fetchesCommitsPushedAfterTheMirrorWasCreated() throws Exception {
+        commit("a.txt", "one\n", "first");
+        mirrorService.listCommits("octo", "sample", 1, 10, null);
+
+        // fetch-interval 이 지나지 않았어도 모르는 SHA를 요청하면 fetch
+        RevCommit later = commit("a.txt", "one\nlater\n", "later");
+        CommitDetail detail = mirrorService.getCommitDetail("octo", "sample", later.getName());
+        assertEquals("later", detail.commit().message());
+
+        // webhook 으로 stale 표시되면 목록도 새 커밋을 포함
+        RevCommit latest = commit("c.txt", "c\n", "latest");
+        mirrorService.markStale("octo", "sample");
+        CommitPage page = mirrorService.listCommits("octo", "sample", 1, 10, null);
+        assertEquals(latest.getName(), page.commits().get(0).sha());
+    }
+
+    @Test
+    void unknownShaFetchesAtMostOncePerInterval() throws Exception {
+        commit("a.txt", "one\n", "first");
+        mirrorService.listCommits("octo", "sample", 1, 10, null);
+
+        // 없는 SHA로 한 번 fetch한 뒤에는 fetch-interval 동안 새로 받지 않고 바로 실패
+        assertThrows(IOException.class, () -> mirrorService.getCommitDetail("octo", "sample", "0".repeat(40)));
+        RevCommit later = commit("a.txt", "one\nlater\n", "later");
+        assertThrows(IOException.class, () -> mirrorService.getCommitDetail("octo", "sample", later.getName()));
+    }
+
+    @Test
+    void clonesInBackgroundBeforeHandlingRequests() throws Exception {
+        RevCommit first = commit("a.txt", "one\n", "first");
+        origin.tag().setName("v1").call();
+        // GitHub이 만드는 PR 참조는 받지 않음
+        RefUpdate pull = origin.getRepository().updateRef("refs/pull/1/head");
+        pull.setNewObjectId(first);
+        pull.update();
+
+        // clone이 끝나기 전에는 GitHub API 경로를 사용
+        assertFalse(mirrorService.handles("octo", "sample"));
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!mirrorService.handles("octo", "sample")) {
+            assertTrue(System.currentTimeMillis() < deadline, "mirror clone did not finish");
+            Thread.sleep(20);
+        }
+
+        // 저장소 이름의 대소문자가 달라도 같은 mirror
+        assertTrue(mirrorService.handles("Octo", "Sample"));
+        try (Git mirror = Git.open(temp.resolve("mirrors/octo/sample.git").toFile())) {
+            assertNotNull(mirror.getRepository().exactRef("refs/tags/v1"));
+            assertNull(mirror.getRepository().exactRef("refs/pull/1/head"));
+        }
+    }
+
+    private RevCommit commit(String path, String content, String message) throws Exception {
+        Files.writeString(origin.getRepository().getWorkTree().toPath().resolve(path), content);
+        origin.add().addFilepattern(path).call();
+        // 커밋 시각을 1분씩 늘려서 정렬 순서를 고정
+        PersonIdent ident = new PersonIdent("Tester", "tester@example.com",
+                Instant.parse("2024-01-01T00:00:00Z").plusSeconds(60L * commitCount++), ZoneOffset.UTC);
+        return origin.commit().setMessage(message).setAuthor(ident).setCommitter(ident).call();
+    }
+
+    private static List<String> shas(CommitPage page) {
+        return page.commits().stream().map(CommitSummary::sha).toList();
+    }
+}
@@ -0,0 +1,110 @@
+package com.git_rest_api.github.search;
+
+import com.git_rest_api.github.dto.CommitSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommitSearchIndexTest {
+
+    @Test
+    void combinesAuthorPathAndMessageTerms() {
+        CommitSearchIndex index = sampleIndex();
+
+        CommitSearchIndex.SearchResult result = index.search(CommitSearchQuery.parse("author:alice path:src/ fix"), 10);
+
+        assertEquals(List.of("c3", "c1"), shas(result));
+        assertEquals(2, result.total());
+        // 메시지 단어는 접두어로 일치 ("fix" -> "fixes")
+        assertEquals(List.of("c3", "c2", "c1"), shas(index.search(CommitSearchQuery.parse("fix"), 10)));
+        assertEquals(List.of("c2"), shas(index.search(CommitSearchQuery.parse("author:bob@example.com"), 10)));
+        assertTrue(index.search(CommitSearchQuery.parse("path:docs/ author:alice"), 10).commits().isEmpty());
+    }
+
+    @Test
+    void limitsToNewestAndKeepsTotal() {
+        CommitSearchIndex index = sampleIndex();
+
+        CommitSearchIndex.SearchResult result = index.search(CommitSearchQuery.parse("fix"), 1);
+
+        assertEquals(List.of("c3"), shas(result));
+        assertEquals(3, result.total());
+    }
+
+    @Test
+    void addsNewPathsToKnownCommitsAndSurvivesSnapshot() throws Exception {
+        CommitSearchIndex index = sampleIndex();
+        assertFalse(index.add(commit("c2", "Bob", "bob@example.com", 2, "Fix docs typo"), List.of("docs/a.md")));
+        assertTrue(index.add(commit("c2", "Bob", "bob@example.com", 2, "Fix docs typo"), List.of("docs/b.md")));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out);
+        assertFalse(index.isDirty());
+        CommitSearchIndex restored = CommitSearchIndex.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(4, restored.size());
+        assertEquals(List.of("c2"), shas(restored.search(CommitSearchQuery.parse("path:/docs/b"), 10)));
+        assertEquals(List.of("c4", "c3", "c1"), shas(restored.search(CommitSearchQuery.parse("author:alice path:src"), 10)));
+    }
+
+    @Test
+    void evictsOldestCommitsOverLimit() {
+        CommitSearchIndex index = new CommitSearchIndex(10);
+        for (int minute = 1; minute <= 11; minute++) {
+            index.add(commit("c" + minute, "Alice", "alice@example.com", minute, "Change " + minute),
+                    List.of("src/File" + minute + ".java"));
+        }
+
+        // 넘치면 제한의 90%(9개)만 남기고 다시 만든 뒤에도 경로/단어 검색이 새 번호로 동작
+        assertEquals(9, index.size());
+        assertTrue(index.search(CommitSearchQuery.parse("path:src/File1.java"), 10).commits().isEmpty());
+        assertTrue(index.search(CommitSearchQuery.parse("path:src/File2.java"), 10).commits().isEmpty());
+        assertEquals(List.of("c3"), shas(index.search(CommitSearchQuery.parse("path:src/File3.java"), 10)));
+        assertEquals(9, index.search(CommitSearchQuery.parse("author:alice"), 100).total());
+    }
+
+    @Test
+    void addsPathsOnlyToIndexedCommits() {
+        CommitSearchIndex index = sampleIndex();
+
+        // 목록에 없던 커밋(다른 브랜치 등)의 상세는 색인하지 않음
+        assertFalse(index.addPaths("other", List.of("src/Other.java")));
+        assertTrue(index.addPaths("c4", List.of("src/Other.java")));
+
+        assertEquals(4, index.size());
+        assertEquals(List.of("c4"), shas(index.search(CommitSearchQuery.parse("path:src/Other"), 10)));
+    }
+
+    @Test
+    void parsesQualifiersAndSplitsWords() {
+        CommitSearchQuery query = CommitSearchQuery.parse("  author:Alice.Smith path:/src/main Fix-Bug ");
+
+        assertEquals(List.of("alice", "smith"), query.authorTerms());
+        assertEquals(List.of("src/main"), query.pathPrefixes());
+        assertEquals(List.of("fix", "bug"), query.messageTerms());
+        assertTrue(CommitSearchQuery.parse(" -- ").isEmpty());
+    }
+
+    private static CommitSearchIndex sampleIndex() {
+        CommitSearchIndex index = new CommitSearchIndex();
+        index.add(commit("c1", "Alice", "alice@example.com", 1, "Fix null check"), List.of("src/Main.java"));
+        index.add(commit("c2", "Bob", "bob@example.com", 2, "Fix docs typo"), List.of("docs/a.md"));
+        index.add(commit("c3", "Alice", "alice@example.com", 3, "Fixes parser\n\nLong body"), List.of("src/Parser.java"));
+        index.add(commit("c4", "Alice", "alice@example.com", 4, "Add feature"), List.of("src/Feature.java"));
+        return index;
+    }
+
+    private static CommitSummary commit(String sha, String name, String email, int minute, String message) {
+        return new CommitSummary(sha, name, email, Instant.parse("2024-01-01T00:00:00Z").plusSeconds(60L * minute),
+                message);
+    }
+
+    private static List<String> shas(CommitSearchIndex.SearchResult result) {
+        return result.commits().stream().map(CommitSummary::sha).toList();
+    }
+}
@@ -0,0 +1,95 @@
+package com.git_rest_api.github.service;
+
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitSummary;
+import com.git_rest_api.github.mirror.GitMirrorService;
+import com.git_rest_api.github.search.CommitSearchService;
+import com.git_rest_api.redis.CacheService;
+import com.git_rest_api.store.ImmutableObjectStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CommitQueryServiceTest {
+
+    private final ImmutableObjectStore store = mock(ImmutableObjectStore.class);
+    private final GitMirrorService mirror = mock(GitMirrorService.class);
+    private final CommitSearchService search = mock(CommitSearchService.class);
+    private final CommitQueryService service = new CommitQueryService(mock(GithubService.class),
+            mock(CacheService.class), store, mirror, search);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // 저장소에 없는 커밋은 로더를 그대로 실행 (mirror 경로로 상세를 만듦)
+        when(store.getOrLoad(anyString(), eq(CommitDetail.class), any()))
+                .thenAnswer(invocation -> invocation.getArgument(2, CacheService.Loader.class).load());
+        when(mirror.handles("o", "r")).thenReturn(true);
+    }
+
+    @Test
+    void loadsOnlyMissingCommitsAndKeepsRequestOrder() throws IOException {
+        Map<String, Object> stored = new HashMap<>();
+        stored.put(key("b"), detail("b"));
+        when(store.getAll(anyList())).thenReturn(stored);
+        when(mirror.getCommitDetail("o", "r", "a")).thenReturn(detail("a"));
+        when(mirror.getCommitDetail("o", "r", "c")).thenReturn(detail("c"));
+
+        Map<String, String> errors = new HashMap<>();
+        Map<String, CommitDetail> details = service.getCommitDetails("o", "r", List.of("a", "b", "c"), errors);
+
+        assertEquals(List.of("a", "b", "c"), List.copyOf(details.keySet()));
+        assertEquals("b", details.get("b").commit().sha());
+        assertTrue(errors.isEmpty());
+        // 캐시에 있던 커밋은 다시 가져오지 않음
+        verify(mirror, never()).getCommitDetail("o", "r", "b");
+        verify(store).getAll(List.of(key("a"), key("b"), key("c")));
+    }
+
+    @Test
+    void allHitsAreServedFromOneBatchRead() throws IOException {
+        when(store.getAll(anyList())).thenReturn(Map.of(key("a"), detail("a"), key("b"), detail("b")));
+
+        Map<String, String> errors = new HashMap<>();
+        Map<String, CommitDetail> details = service.getCommitDetails("o", "r", List.of("b", "a"), errors);
+
+        assertEquals(List.of("b", "a"), List.copyOf(details.keySet()));
+        assertTrue(errors.isEmpty());
+        verify(store, never()).getOrLoad(anyString(), any(), any());
+        verify(search, times(2)).indexDetail(any());
+    }
+
+    @Test
+    void failedCommitIsReportedWithoutDroppingOthers() throws IOException {
+        when(store.getAll(anyList())).thenReturn(new HashMap<>());
+        when(mirror.getCommitDetail("o", "r", "a")).thenReturn(detail("a"));
+        when(mirror.getCommitDetail("o", "r", "missing")).thenThrow(new IOException("Commit not found"));
+        when(mirror.getCommitDetail("o", "r", "c")).thenReturn(detail("c"));
+
+        Map<String, String> errors = new HashMap<>();
+        Map<String, CommitDetail> details = service.getCommitDetails("o", "r", List.of("a", "missing", "c"), errors);
+
+        assertEquals(List.of("a", "c"), List.copyOf(details.keySet()));
+        assertEquals(Map.of("missing", "Commit not found"), errors);
+    }
+
+    private static String key(String sha) {
+        return CommitQueryService.commitDetailKey("o", "r", sha);
+    }
+
+    private static CommitDetail detail(String sha) {
+        return new CommitDetail(new CommitSummary(sha, "Tester", "tester@example.com",
+                Instant.parse("2024-01-01T00:00:00Z"), "message " + sha), List.of(), "o", "r");
+    }
+}
@@ -0,0 +1,123 @@
+package com.git_rest_api.github.stats;
+
+import com.git_rest_api.github.dto.ChangedFile;
+import com.git_rest_api.github.dto.ChurnReport;
+import com.git_rest_api.github.dto.CommitStats;
+import com.git_rest_api.github.dto.CommitSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChurnAggregateTest {
+
+    private static final Map<String, CommitStats> COMMITS = Map.of(
+            // 2024-03-04는 월요일
+            "c1", detail("c1", "Alice", "alice@example.com", "2024-03-04T10:00:00Z",
+                    file("src/A.java", 10, 2), file("README.md", 1, 0)),
+            "c2", detail("c2", "Bob", "bob@example.com", "2024-03-10T23:00:00Z",
+                    file("src/A.java", 5, 5)),
+            "c3", detail("c3", "Alice Smith", "ALICE@example.com", "2024-03-11T00:00:00Z",
+                    file("src/B.java", 30, 0)));
+
+    // 부모가 둘인 커밋
+    private static final CommitStats MERGE = new CommitStats(
+            new CommitSummary("merge", "Carol", "carol@example.com", Instant.parse("2024-03-12T00:00:00Z"), "merge"),
+            2, List.of(file("src/A.java", 15, 7)));
+
+    @Test
+    void aggregatesByAuthorPathAndWeek() {
+        ChurnAggregate aggregate = new ChurnAggregate();
+        COMMITS.values().forEach(aggregate::add);
+
+        ChurnReport report = aggregate.report("o", "r", 10, 10);
+
+        assertEquals(3, report.commits());
+        // 이메일은 대소문자를 구분하지 않고 이름은 가장 최근 커밋의 값
+        ChurnReport.AuthorChurn alice = report.authors().get(0);
+        assertEquals("alice@example.com", alice.email());
+        assertEquals("Alice Smith", alice.name());
+        assertEquals(2, alice.commits());
+        assertEquals(41, alice.additions());
+        assertEquals(List.of("src/B.java", "src/A.java", "README.md"),
+                report.hotFiles().stream().map(ChurnReport.PathChurn::path).toList());
+        assertEquals(List.of(LocalDate.parse("2024-03-04"), LocalDate.parse("2024-03-11")),
+                report.weeks().stream().map(ChurnReport.WeekChurn::weekStart).toList());
+        assertEquals(2, report.weeks().get(0).commits());
+
+        ChurnReport limited = aggregate.report("o", "r", 1, 1);
+        assertEquals(List.of("src/B.java"), limited.hotFiles().stream().map(ChurnReport.PathChurn::path).toList());
+        assertEquals(LocalDate.parse("2024-03-11"), limited.weeks().get(0).weekStart());
+    }
+
+    @Test
+    void forkJoinBackfillMatchesSequentialAndSkipsFailures() {
+        ChurnAggregate sequential = new ChurnAggregate();
+        List.of("c1", "c2", "c3").forEach(sha -> sequential.add(COMMITS.get(sha)));
+
+        ChurnAggregate parallel = new ForkJoinPool(2).invoke(new ChurnBackfillTask(
+                List.of("c3", "merge", "c1", "missing", "c2"),
+                sha -> {
+                    CommitStats detail = sha.equals("merge") ? MERGE : COMMITS.get(sha);
+                    if (detail == null) {
+                        throw new IOException("not found");
+                    }
+                    return detail;
+                }, 1));
+
+        // 작성자 이름은 합치는 순서와 관계없이 가장 최근 커밋의 값, merge 커밋은 집계하지 않음
+        assertEquals(sequential.report("o", "r", 10, 10).authors(), parallel.report("o", "r", 10, 10).authors());
+        assertEquals(3, parallel.getCommits());
+        assertEquals(sequential.report("o", "r", 10, 10).hotFiles(), parallel.report("o", "r", 10, 10).hotFiles());
+        assertEquals(1, parallel.report("o", "r", 10, 10).skippedCommits());
+    }
+
+    @Test
+    void incrementalMergeSurvivesSnapshot() throws Exception {
+        ChurnAggregate base = new ChurnAggregate();
+        base.add(COMMITS.get("c1"));
+        base.setHeadSha("c1");
+
+        ChurnAggregate updated = base.copy();
+        ChurnAggregate delta = new ChurnAggregate();
+        delta.add(COMMITS.get("c2"));
+        updated.merge(delta);
+        updated.setHeadSha("c2");
+        updated.setUpdatedAtMillis(1234);
+        // 끝나지 않은 전체 집계의 진행 상태도 저장
+        updated.setBackfilling(true);
+        updated.setBackfillSha("c0");
+        updated.setBackfilledCommits(100);
+
+        // 공개된 집계는 바뀌지 않음
+        assertEquals(1, base.getCommits());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        updated.writeTo(out);
+        ChurnAggregate restored = ChurnAggregate.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(updated.report("o", "r", 10, 10), restored.report("o", "r", 10, 10));
+        assertEquals("c2", restored.getHeadSha());
+        assertTrue(restored.isBackfilling());
+        assertEquals("c0", restored.getBackfillSha());
+        assertEquals(100, restored.getBackfilledCommits());
+        assertEquals(15, restored.report("o", "r", 10, 10).hotFiles().get(0).additions());
+    }
+
+    private static CommitStats detail(String sha, String name, String email, String date, ChangedFile... files) {
+        return new CommitStats(new CommitSummary(sha, name, email, Instant.parse(date), "message"),
+                1, List.of(files));
+    }
+
+    private static ChangedFile file(String name, int additions, int deletions) {
+        return new ChangedFile(name, null, additions, deletions, "modified");
+    }
+}
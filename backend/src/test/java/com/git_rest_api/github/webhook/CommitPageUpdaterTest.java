@@ -0,0 +1,73 @@
+package com.git_rest_api.github.webhook;
+
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommitPageUpdaterTest {
+
+    private static final String BEFORE = "1".repeat(40);
+    private static final String MIDDLE = "2".repeat(40);
+    private static final String AFTER = "3".repeat(40);
+
+    @Test
+    void prependsPushedCommitsNewestFirstAndTrimsToPageSize() {
+        CommitPage page = page(commit(BEFORE), commit("0".repeat(40)), commit("f".repeat(40)));
+
+        CommitPage updated = CommitPageUpdater.prepend(page, push(false, true));
+
+        assertNotNull(updated);
+        assertEquals(List.of(AFTER, MIDDLE, BEFORE),
+                updated.commits().stream().map(CommitSummary::sha).toList());
+        assertEquals(AFTER + ".3", updated.nextCursor());
+    }
+
+    @Test
+    void refusesWhenHistoryMayNotMatch() {
+        CommitPage page = page(commit(BEFORE), commit("0".repeat(40)), commit("f".repeat(40)));
+
+        // 강제 push
+        assertNull(CommitPageUpdater.prepend(page, push(true, true)));
+        // 다른 브랜치에서 이미 들어온 커밋이 포함된 merge
+        assertNull(CommitPageUpdater.prepend(page, push(false, false)));
+        // 캐시된 첫 커밋이 push 이전 HEAD가 아님
+        assertNull(CommitPageUpdater.prepend(page(commit("9".repeat(40))), push(false, true)));
+    }
+
+    @Test
+    void verifiesSignatureOfRecordedPayload() throws IOException {
+        byte[] body;
+        try (InputStream in = getClass().getResourceAsStream("/webhook/push-event.json")) {
+            body = in.readAllBytes();
+        }
+        String signature = WebhookSignatureVerifier.sign("test-secret", body);
+
+        assertTrue(WebhookSignatureVerifier.verify("test-secret", body, signature));
+        assertFalse(WebhookSignatureVerifier.verify("other-secret", body, signature));
+        assertFalse(WebhookSignatureVerifier.verify("", body, signature));
+        assertFalse(WebhookSignatureVerifier.verify("test-secret", body, null));
+    }
+
+    private static CommitPage page(CommitSummary... commits) {
+        return new CommitPage(List.of(commits), "git_rest_api_test", "1m1nkim", 1, 3, null, null);
+    }
+
+    private static CommitSummary commit(String sha) {
+        return new CommitSummary(sha, "Kim", "kim@example.com", Instant.parse("2025-03-01T00:00:00Z"), "old");
+    }
+
+    private static PushEvent push(boolean forced, boolean distinct) {
+        return new PushEvent("1m1nkim", "git_rest_api_test", "refs/heads/main", "main", BEFORE, AFTER, forced, false,
+                List.of(new PushEvent.PushedCommit(MIDDLE, "Add commit cursor", Instant.parse("2025-03-02T01:00:00Z"),
+                                "Kim", "kim@example.com", true),
+                        new PushEvent.PushedCommit(AFTER, "Fix cursor key", Instant.parse("2025-03-02T02:00:00Z"),
+                                "Kim", "kim@example.com", distinct)));
+    }
+}
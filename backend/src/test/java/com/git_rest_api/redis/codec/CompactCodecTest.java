@@ -0,0 +1,115 @@
+package com.git_rest_api.redis.codec;
+
+import com.git_rest_api.github.dto.ChangedFile;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.git_rest_api.github.dto.CommitDetail;
+import com.git_rest_api.github.dto.CommitPage;
+import com.git_rest_api.github.dto.CommitSummary;
+import com.git_rest_api.redis.RedisConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompactCodecTest {
+
+    record SummaryV1(String sha, String message) {
+    }
+
+    record SummaryV2(String sha, String message, Integer additions, int deletions) {
+    }
+
+    @Test
+    void roundTripsRecordsAndCompressesLargeValues() {
+        CompactCodec codec = new CompactCodec(512)
+                .register(2, CommitSummary.class)
+                .register(4, ChangedFile.class)
+                .register(5, CommitDetail.class);
+        String patch = "@@ -1,3 +1,3 @@\n-old line\n+new line\n".repeat(200);
+        CommitDetail detail = new CommitDetail(
+                new CommitSummary("abc123", "kim", "kim@example.com", Instant.parse("2025-03-01T10:15:30Z"), "fix"),
+                List.of(new ChangedFile("src/App.java", patch, 200, 200, "modified")),
+                "owner", "repo");
+
+        byte[] encoded = codec.encode(detail);
+
+        assertTrue(CompactCodec.isEncoded(encoded));
+        assertTrue(encoded.length < patch.length() / 4);
+        assertEquals(detail, codec.decode(encoded));
+    }
+
+    // 저장 크기 비교 (cache.codec.format=json / compact, 벤치마크와 같은 fixtures/commit.json): CacheSerializerBenchmark는 속도만 측정
+    @Test
+    void storesFixtureCommitPageAndDetailInFewerBytesThanJson() throws IOException {
+        RedisConfig config = new RedisConfig();
+        ObjectMapper objectMapper = config.objectMapper();
+        RedisSerializer<Object> json = config.cacheValueSerializer(objectMapper, config.compactCodec(512), "json");
+        RedisSerializer<Object> compact = config.cacheValueSerializer(objectMapper, config.compactCodec(512), "compact");
+
+        JsonNode fixture;
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("fixtures/commit.json")) {
+            fixture = objectMapper.readTree(in);
+        }
+        JsonNode author = fixture.get("commit").get("author");
+        List<CommitSummary> commits = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            commits.add(new CommitSummary(String.format("%040x", 0x1234567L * (i + 1)), author.get("name").asText(),
+                    author.get("email").asText(), Instant.parse(author.get("date").asText()).minusSeconds(i * 3600L),
+                    fixture.get("commit").get("message").asText()));
+        }
+        CommitPage page = new CommitPage(commits, "repo", "owner", 1, 30, null, commits.get(29).sha() + ".30");
+
+        List<ChangedFile> files = new ArrayList<>();
+        for (JsonNode file : fixture.get("files")) {
+            files.add(new ChangedFile(file.get("filename").asText(), file.get("patch").asText(),
+                    file.get("additions").asInt(), file.get("deletions").asInt(), file.get("status").asText()));
+        }
+        CommitDetail detail = new CommitDetail(commits.get(0), files, "owner", "repo");
+
+        assertSmaller(json, compact, page);
+        assertSmaller(json, compact, detail);
+    }
+
+    private static void assertSmaller(RedisSerializer<Object> json, RedisSerializer<Object> compact, Object value) {
+        byte[] jsonBytes = json.serialize(value);
+        byte[] compactBytes = compact.serialize(value);
+        assertTrue(compactBytes.length < jsonBytes.length,
+                value.getClass().getSimpleName() + ": compact " + compactBytes.length + " bytes, json "
+                        + jsonBytes.length + " bytes");
+        assertEquals(value, compact.deserialize(compactBytes));
+    }
+
+    @Test
+    void readsEntriesWrittenWithFewerFields() {
+        CompactCodec v1 = new CompactCodec(512).register(7, SummaryV1.class);
+        CompactCodec v2 = new CompactCodec(512).register(7, SummaryV2.class);
+
+        Object decoded = v2.decode(v1.encode(new SummaryV1("abc123", "fix")));
+
+        assertEquals(new SummaryV2("abc123", "fix", null, 0), decoded);
+        assertEquals(new SummaryV1("abc123", "fix"), v1.decode(v2.encode(new SummaryV2("abc123", "fix", 1, 2))));
+    }
+
+    @Test
+    void keepsPlainValueTypesAndRejectsUnknownTypes() {
+        CompactCodec codec = new CompactCodec(512);
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("etag", "W/\"123\"");
+        entry.put("count", 3);
+        entry.put("size", 5_000_000_000L);
+        entry.put("missing", null);
+
+        assertEquals(entry, codec.decode(codec.encode(entry)));
+        assertEquals("plain", codec.decode(codec.encode("plain")));
+        assertThrows(CompactCodec.UnsupportedValueException.class, () -> codec.encode(new StringBuilder("x")));
+    }
+}
@@ -24,28 +24,62 @@ export default function CommitHistory() {
     const [error, setError] = useState<string | null>(null);
 
     useEffect(() => {
+        const controller = new AbortController();
+
+        // NDJSON 스트림으로 받아서 커밋이 도착하는 대로 표시
         async function fetchCommits() {
+            setCommits([]);
+            setLoading(true);
+            setError(null);
             try {
                 const response = await fetch(
-                    `http://localhost:8080/api/repos/${owner}/${repo}/commits?page=${page}&perPage=${perPage}`,
-                    { credentials: 'include' }
+                    `http://localhost:8080/api/repos/${owner}/${repo}/commits/stream?page=${page}&perPage=${perPage}&format=ndjson`,
+                    { credentials: 'include', signal: controller.signal }
                 );
 
-                if (!response.ok) {
+                if (!response.ok || !response.body) {
                     throw new Error('Failed to fetch commits');
                 }
 
-                const data = await response.json();
-                setCommits(data.commits || []);
+                const reader = response.body.getReader();
+                const decoder = new TextDecoder();
+                let buffered = '';
+                while (true) {
+                    const { done, value } = await reader.read();
+                    if (done) break;
+                    buffered += decoder.decode(value, { stream: true });
+
+                    const lines = buffered.split('\n');
+                    buffered = lines.pop() || '';
+                    const received: Commit[] = [];
+                    for (const line of lines) {
+                        if (!line.trim()) continue;
+                        const item = JSON.parse(line);
+                        if (item.error) {
+                            throw new Error(item.error.message);
+                        }
+                        if (item.commit) {
+                            received.push(item.commit);
+                        }
+                    }
+                    if (received.length > 0) {
+                        setCommits(prev => [...prev, ...received]);
+                        setLoading(false);
+                    }
+                }
             } catch (error) {
+                if (controller.signal.aborted) return;
                 console.error('Error:', error);
                 setError('Failed to load commits. Please try again later.');
             } finally {
-                setLoading(false);
+                if (!controller.signal.aborted) {
+                    setLoading(false);
+                }
             }
         }
 
         fetchCommits();
+        return () => controller.abort();
     }, [owner, repo, page, perPage]);
 
     if (loading) {